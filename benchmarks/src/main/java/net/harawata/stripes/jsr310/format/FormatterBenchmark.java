@@ -0,0 +1,222 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import java.time.Month;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TemporalAccessorFormatter#format(TemporalAccessor)} with the default format of each formatter.
+ * 
+ * @author Iwao AVE!
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatterBenchmark {
+
+  static final ZonedDateTime SAMPLE = ZonedDateTime.of(2017, 3, 27, 13, 47, 29, 123000000, ZoneId.of("Europe/Paris"));
+
+  static final ResourceBundle EMPTY_BUNDLE = new ListResourceBundle() {
+    @Override
+    protected Object[][] getContents() {
+      return new Object[][] {};
+    }
+  };
+
+  @Param({ "LocalDate", "LocalDateTime", "LocalTime", "YearMonth", "Month", "Year", "Instant", "OffsetDateTime",
+      "OffsetTime", "ZonedDateTime" })
+  public String type;
+
+  @Param({ "en_US", "ja_JP", "de_DE", "fr_FR" })
+  public String locale;
+
+  private Supplier<TemporalAccessorFormatter<TemporalAccessor>> factory;
+
+  private TemporalAccessorFormatter<TemporalAccessor> formatter;
+
+  private Locale resolvedLocale;
+
+  private TemporalAccessor value;
+
+  @Setup
+  public void setUp() {
+    resolvedLocale = Locale.forLanguageTag(locale.replace('_', '-'));
+    factory = factory(type);
+    value = value(type);
+    formatter = newFormatter();
+  }
+
+  @Benchmark
+  public String format() {
+    return formatter.format(value);
+  }
+
+  /**
+   * Stripes' DefaultFormatterFactory creates and initializes a new formatter each time a value is formatted.
+   */
+  @Benchmark
+  public String newInstanceAndFormat() {
+    return newFormatter().format(value);
+  }
+
+  private TemporalAccessorFormatter<TemporalAccessor> newFormatter() {
+    TemporalAccessorFormatter<TemporalAccessor> result = factory.get();
+    result.setLocale(resolvedLocale);
+    result.init();
+    return result;
+  }
+
+  static TemporalAccessor value(String type) {
+    switch (type) {
+      case "LocalDate":
+        return SAMPLE.toLocalDate();
+      case "LocalDateTime":
+        return SAMPLE.toLocalDateTime();
+      case "LocalTime":
+        return SAMPLE.toLocalTime();
+      case "YearMonth":
+        return YearMonth.from(SAMPLE);
+      case "Month":
+        return Month.from(SAMPLE);
+      case "Year":
+        return Year.from(SAMPLE);
+      case "Instant":
+        return SAMPLE.toInstant();
+      case "OffsetDateTime":
+        return SAMPLE.toOffsetDateTime();
+      case "OffsetTime":
+        return SAMPLE.toOffsetDateTime().toOffsetTime();
+      case "ZonedDateTime":
+        return SAMPLE;
+      default:
+        throw new IllegalArgumentException(type);
+    }
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static Supplier<TemporalAccessorFormatter<TemporalAccessor>> factory(String type) {
+    Supplier<? extends TemporalAccessorFormatter<?>> result;
+    switch (type) {
+      case "LocalDate":
+        result = () -> new LocalDateFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "LocalDateTime":
+        result = () -> new LocalDateTimeFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "LocalTime":
+        result = () -> new LocalTimeFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "YearMonth":
+        result = () -> new YearMonthFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "Month":
+        result = () -> new MonthFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "Year":
+        result = () -> new YearFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "Instant":
+        result = () -> new InstantFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "OffsetDateTime":
+        result = () -> new OffsetDateTimeFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "OffsetTime":
+        result = () -> new OffsetTimeFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      case "ZonedDateTime":
+        result = () -> new ZonedDateTimeFormatter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return EMPTY_BUNDLE;
+          }
+        };
+        break;
+      default:
+        throw new IllegalArgumentException(type);
+    }
+    return (Supplier) result;
+  }
+
+}
@@ -0,0 +1,57 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.harawata.stripes.jsr310.validation.TemporalAccessorTypeConverter;
+
+/**
+ * Compares {@link InputNormalizer} with the regular expression it replaces.
+ * 
+ * @author Iwao AVE!
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InputNormalizerBenchmark {
+
+  @Param({ "2017/3/27", "MAR 27, 2017", "2017-03-27T13:47:29.789", "thursday 4 May 2017" })
+  public String input;
+
+  @Benchmark
+  public String regex() {
+    return TemporalAccessorTypeConverter.PRE_PROCESS_PATTERN.matcher(input).replaceAll(" ").trim();
+  }
+
+  @Benchmark
+  public String scanner() {
+    return InputNormalizer.normalize(input);
+  }
+
+}
@@ -0,0 +1,95 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BulkConverter} over a column of {@link #ROWS} values with pools of different sizes.
+ * <p>
+ * The score is the number of columns per second; compare the scores of the <code>parallelism</code> values to see how it scales.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkConverterBenchmark {
+
+  static final int ROWS = 100000;
+
+  @Param({ "LocalDate", "LocalDateTime", "LocalTime", "Instant" })
+  public String type;
+
+  @Param({ "1", "2", "4", "8" })
+  public int parallelism;
+
+  @Param({ "en_US", "ja_JP" })
+  public String locale;
+
+  private ForkJoinPool pool;
+
+  private BulkConverter<TemporalAccessor> bulkConverter;
+
+  private String[] column;
+
+  @Setup
+  public void setUp() {
+    Locale resolvedLocale = Locale.forLanguageTag(locale.replace('_', '-'));
+    TemporalAccessorTypeConverter<TemporalAccessor> converter = TypeConverterBenchmark.factory(type, null).get();
+    converter.setLocale(resolvedLocale);
+    PatternChain chain = converter.preparePatternChain();
+    DateTimeFormatter formatter = chain.isEmpty() ? DateTimeFormatter.ISO_INSTANT
+        : DateTimeFormatter.ofPattern(chain.getPattern(chain.size() - 1), resolvedLocale);
+    column = new String[ROWS];
+    for (int row = 0; row < ROWS; row++) {
+      column[row] = formatter.format(TypeConverterBenchmark.SAMPLE.plusMinutes(row * 97L));
+    }
+    pool = new ForkJoinPool(parallelism);
+    bulkConverter = new BulkConverter<>(converter, TemporalAccessor.class, pool, BulkConverter.DEFAULT_THRESHOLD);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Object convert() {
+    return bulkConverter.convert(column);
+  }
+
+}
@@ -0,0 +1,281 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sourceforge.stripes.validation.ValidationError;
+
+/**
+ * Measures {@link TemporalAccessorTypeConverter#convert(String, Class, java.util.Collection)} for inputs matching the first pattern, the last pattern or no pattern at all.
+ * <p>
+ * The converters without default patterns parse the ISO format in the FIRST case and use custom patterns in the LAST case.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TypeConverterBenchmark {
+
+  public enum Match {
+    FIRST, LAST, NONE
+  }
+
+  static final ZonedDateTime SAMPLE = ZonedDateTime.of(2017, 3, 27, 13, 47, 29, 0, ZoneId.of("Europe/Paris"));
+
+  static final String INVALID_INPUT = "31 Foo 2017 25 61";
+
+  @Param({ "LocalDate", "LocalDateTime", "LocalTime", "YearMonth", "Month", "Year", "Instant", "OffsetDateTime",
+      "OffsetTime", "ZonedDateTime" })
+  public String type;
+
+  @Param({ "FIRST", "LAST", "NONE" })
+  public Match match;
+
+  @Param({ "en_US", "ja_JP", "de_DE", "fr_FR" })
+  public String locale;
+
+  private Supplier<TemporalAccessorTypeConverter<TemporalAccessor>> factory;
+
+  private TemporalAccessorTypeConverter<TemporalAccessor> converter;
+
+  private Locale resolvedLocale;
+
+  private String input;
+
+  private final List<ValidationError> errors = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    resolvedLocale = Locale.forLanguageTag(locale.replace('_', '-'));
+    String customPatterns = match == Match.LAST ? customPatterns(type) : null;
+    factory = factory(type, customPatterns);
+    converter = newConverter();
+    PatternChain chain = converter.preparePatternChain();
+    switch (match) {
+      case FIRST:
+        input = chain.isEmpty() ? isoInput(type) : format(chain.getPattern(0));
+        break;
+      case LAST:
+        input = format(chain.getPattern(chain.size() - 1));
+        break;
+      default:
+        input = INVALID_INPUT;
+    }
+    if ((convert() == null) != (match == Match.NONE)) {
+      // e.g. YearMonth in ja_JP, whose normalized pattern does not accept its own output.
+      System.err.println("WARNING: Unexpected result for " + type + " '" + input + "' in " + locale);
+    }
+  }
+
+  @Benchmark
+  public Object convert() {
+    errors.clear();
+    return converter.convert(input, null, errors);
+  }
+
+  /**
+   * Stripes' DefaultTypeConverterFactory creates a new converter for each conversion.
+   */
+  @Benchmark
+  public Object newInstanceAndConvert() {
+    errors.clear();
+    return newConverter().convert(input, null, errors);
+  }
+
+  private TemporalAccessorTypeConverter<TemporalAccessor> newConverter() {
+    TemporalAccessorTypeConverter<TemporalAccessor> result = factory.get();
+    result.setLocale(resolvedLocale);
+    return result;
+  }
+
+  private String format(String pattern) {
+    return DateTimeFormatter.ofPattern(pattern, resolvedLocale).format(SAMPLE);
+  }
+
+  static String customPatterns(String type) {
+    switch (type) {
+      case "Instant":
+      case "OffsetDateTime":
+      case "ZonedDateTime":
+        return "yyyy-MM-dd'T'HH:mm:ssXXX, yyyy/MM/dd HH:mm:ss XXX, d MMM yyyy HH:mm:ss XXX";
+      case "OffsetTime":
+        return "HH:mm:ssXXX, HH:mm XXX, h:mm:ss a XXX";
+      default:
+        return null;
+    }
+  }
+
+  static String isoInput(String type) {
+    switch (type) {
+      case "Instant":
+        return DateTimeFormatter.ISO_INSTANT.format(SAMPLE);
+      case "OffsetDateTime":
+        return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(SAMPLE);
+      case "OffsetTime":
+        return DateTimeFormatter.ISO_OFFSET_TIME.format(SAMPLE);
+      case "ZonedDateTime":
+        return DateTimeFormatter.ISO_ZONED_DATE_TIME.format(SAMPLE);
+      default:
+        throw new IllegalArgumentException(type);
+    }
+  }
+
+  static ResourceBundle bundle(String key, String value) {
+    return new ListResourceBundle() {
+      @Override
+      protected Object[][] getContents() {
+        return value == null ? new Object[][] {} : new Object[][] { { key, value } };
+      }
+    };
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  static Supplier<TemporalAccessorTypeConverter<TemporalAccessor>> factory(String type, String customPatterns) {
+    Supplier<? extends TemporalAccessorTypeConverter<?>> result;
+    switch (type) {
+      case "LocalDate": {
+        ResourceBundle bundle = bundle(LocalDateTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new LocalDateTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "LocalDateTime": {
+        ResourceBundle bundle = bundle(LocalDateTimeTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new LocalDateTimeTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "LocalTime": {
+        ResourceBundle bundle = bundle(LocalTimeTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new LocalTimeTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "YearMonth": {
+        ResourceBundle bundle = bundle(YearMonthTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new YearMonthTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "Month": {
+        ResourceBundle bundle = bundle(MonthTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new MonthTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "Year": {
+        ResourceBundle bundle = bundle(YearTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new YearTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "Instant": {
+        ResourceBundle bundle = bundle(InstantTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new InstantTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "OffsetDateTime": {
+        ResourceBundle bundle = bundle(OffsetDateTimeTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new OffsetDateTimeTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "OffsetTime": {
+        ResourceBundle bundle = bundle(OffsetTimeTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new OffsetTimeTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      case "ZonedDateTime": {
+        ResourceBundle bundle = bundle(ZonedDateTimeTypeConverter.KEY_PATTERNS, customPatterns);
+        result = () -> new ZonedDateTimeTypeConverter() {
+          @Override
+          protected ResourceBundle getErrorMessageBundle() {
+            return bundle;
+          }
+        };
+        break;
+      }
+      default:
+        throw new IllegalArgumentException(type);
+    }
+    return (Supplier) result;
+  }
+
+}
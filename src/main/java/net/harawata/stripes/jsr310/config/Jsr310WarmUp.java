@@ -0,0 +1,162 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.config;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.format.Formatter;
+import net.sourceforge.stripes.format.FormatterFactory;
+import net.sourceforge.stripes.util.Log;
+import net.sourceforge.stripes.validation.TypeConverter;
+import net.sourceforge.stripes.validation.TypeConverterFactory;
+import net.sourceforge.stripes.validation.ValidationError;
+
+/**
+ * Builds the compiled state of the formatters and type converters (localized patterns, pattern chains, tables, etc.) for the given locales
+ * and runs the format and parse paths repeatedly so that they are compiled by the JIT before the first request.
+ * <p>
+ * The formatters and type converters are obtained from the factories, so the Stripes configuration must be available (see
+ * {@link Jsr310WarmUpServlet}). Failures are logged and do not stop the warm-up.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class Jsr310WarmUp {
+
+  private static final Log LOG = Log.getInstance(Jsr310WarmUp.class);
+
+  private static final ZonedDateTime SAMPLE = ZonedDateTime.of(2017, 3, 27, 12, 34, 56, 789000000, ZoneId.of("Asia/Tokyo"));
+
+  /**
+   * Sample values of the types supported by this library.
+   */
+  public static final Map<Class<?>, TemporalAccessor> SAMPLES;
+
+  static {
+    Map<Class<?>, TemporalAccessor> map = new LinkedHashMap<>();
+    map.put(LocalDate.class, SAMPLE.toLocalDate());
+    map.put(LocalTime.class, SAMPLE.toLocalTime());
+    map.put(LocalDateTime.class, SAMPLE.toLocalDateTime());
+    map.put(Instant.class, SAMPLE.toInstant());
+    map.put(Month.class, SAMPLE.getMonth());
+    map.put(YearMonth.class, YearMonth.from(SAMPLE));
+    map.put(Year.class, Year.from(SAMPLE));
+    map.put(OffsetDateTime.class, SAMPLE.toOffsetDateTime());
+    map.put(OffsetTime.class, SAMPLE.toOffsetDateTime().toOffsetTime());
+    map.put(ZonedDateTime.class, SAMPLE);
+    SAMPLES = Collections.unmodifiableMap(map);
+  }
+
+  private final TypeConverterFactory typeConverterFactory;
+
+  private final FormatterFactory formatterFactory;
+
+  private final Collection<Class<?>> types;
+
+  public Jsr310WarmUp(Configuration configuration) {
+    this(configuration.getTypeConverterFactory(), configuration.getFormatterFactory(), SAMPLES.keySet());
+  }
+
+  /**
+   * @param types The types to warm up, a subset of {@link #SAMPLES}.
+   */
+  public Jsr310WarmUp(TypeConverterFactory typeConverterFactory, FormatterFactory formatterFactory, Collection<Class<?>> types) {
+    this.typeConverterFactory = typeConverterFactory;
+    this.formatterFactory = formatterFactory;
+    this.types = types;
+  }
+
+  /**
+   * Formats a sample value of each type with the default formatter and converts the result back, <code>iterations</code> times for each type
+   * and locale.
+   * 
+   * @return The number of type and locale combinations that failed.
+   */
+  public int run(Collection<Locale> locales, int iterations) {
+    long start = System.currentTimeMillis();
+    int failures = 0;
+    for (Locale locale : locales) {
+      for (Class<?> type : types) {
+        try {
+          warmUp(type, locale, iterations);
+        } catch (Exception e) {
+          LOG.warn(e, "Failed to warm up the formatter and type converter for ", type.getName(), " and locale ", locale, ".");
+          failures++;
+        }
+      }
+    }
+    LOG.info("Warmed up ", types.size(), " types for ", locales, " in ", System.currentTimeMillis() - start, " ms (", iterations,
+        " iterations, ", failures, " failures).");
+    return failures;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  protected void warmUp(Class<?> type, Locale locale, int iterations) throws Exception {
+    TemporalAccessor sample = SAMPLES.get(type);
+    if (sample == null) {
+      throw new IllegalArgumentException("No sample value for " + type.getName());
+    }
+    String text = sample.toString();
+    Formatter formatter = formatterFactory == null ? null : formatterFactory.getFormatter(type, locale, null, null);
+    if (formatter != null) {
+      for (int i = 0; i < iterations; i++) {
+        text = formatter.format(sample);
+      }
+    }
+    TypeConverter converter = typeConverterFactory == null ? null : typeConverterFactory.getTypeConverter(type, locale);
+    if (converter != null) {
+      List<ValidationError> errors = new ArrayList<>();
+      // Both the successful and the failing paths.
+      for (String input : Arrays.asList(text, "?" + text)) {
+        for (int i = 0; i < iterations; i++) {
+          converter.convert(input, type, errors);
+          errors.clear();
+        }
+      }
+    }
+  }
+
+  /**
+   * @return The locales in the comma separated list of language tags (e.g. <code>en-US, ja-JP</code>).
+   */
+  public static List<Locale> parseLocales(String tags) {
+    List<Locale> locales = new ArrayList<>();
+    for (String tag : tags.split(",")) {
+      if (!tag.trim().isEmpty()) {
+        locales.add(Locale.forLanguageTag(tag.trim()));
+      }
+    }
+    return locales;
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.config;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+
+import net.sourceforge.stripes.config.BootstrapPropertyResolver;
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.controller.StripesFilter;
+import net.sourceforge.stripes.util.Log;
+
+/**
+ * Runs {@link Jsr310WarmUp} at application start.
+ * <p>
+ * Servlets with <code>load-on-startup</code> are initialized after the filters, so the Stripes configuration is available. The parameters are
+ * read from the init-params of this servlet or, if missing, from those of the StripesFilter.
+ * </p>
+ * <ul>
+ * <li><code>Jsr310WarmUp.Locales</code> : comma separated language tags (default: the default locale)</li>
+ * <li><code>Jsr310WarmUp.Iterations</code> : the number of times each path is run (default: {@value #DEFAULT_ITERATIONS})</li>
+ * </ul>
+ * 
+ * @author Iwao AVE!
+ */
+public class Jsr310WarmUpServlet extends HttpServlet {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Log LOG = Log.getInstance(Jsr310WarmUpServlet.class);
+
+  public static final String LOCALES = "Jsr310WarmUp.Locales";
+
+  public static final String ITERATIONS = "Jsr310WarmUp.Iterations";
+
+  public static final int DEFAULT_ITERATIONS = 2000;
+
+  @Override
+  public void init() throws ServletException {
+    // The warm-up is optional; a problem with it should not fail the deployment.
+    Configuration configuration = StripesFilter.getConfiguration();
+    if (configuration == null) {
+      // Stripes logs a StripesRuntimeException and returns null instead of throwing it.
+      LOG.warn("Skipped the warm-up because the Stripes configuration is not available.");
+      return;
+    }
+    String localeTags = getParameter(configuration, LOCALES);
+    String iterations = getParameter(configuration, ITERATIONS);
+    int count = DEFAULT_ITERATIONS;
+    if (iterations != null) {
+      try {
+        count = Integer.parseInt(iterations.trim());
+      } catch (NumberFormatException e) {
+        LOG.warn("Skipped the warm-up because ", ITERATIONS, " is not a number: ", iterations);
+        return;
+      }
+    }
+    List<Locale> locales = localeTags == null ? Collections.singletonList(Locale.getDefault()) : Jsr310WarmUp.parseLocales(localeTags);
+    new Jsr310WarmUp(configuration).run(locales, count);
+  }
+
+  private String getParameter(Configuration configuration, String name) {
+    String value = getInitParameter(name);
+    if (value == null) {
+      BootstrapPropertyResolver resolver = configuration.getBootstrapPropertyResolver();
+      value = resolver == null ? null : resolver.getProperty(name);
+    }
+    return value;
+  }
+}
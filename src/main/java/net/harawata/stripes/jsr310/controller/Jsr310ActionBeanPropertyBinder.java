@@ -0,0 +1,80 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.controller;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import net.harawata.stripes.jsr310.validation.TemporalAccessorTypeConverter;
+import net.sourceforge.stripes.action.ActionBean;
+import net.sourceforge.stripes.controller.DefaultActionBeanPropertyBinder;
+import net.sourceforge.stripes.controller.ParameterName;
+import net.sourceforge.stripes.validation.TypeConverter;
+import net.sourceforge.stripes.validation.TypeConverterFactory;
+import net.sourceforge.stripes.validation.ValidationError;
+import net.sourceforge.stripes.validation.ValidationMetadata;
+
+/**
+ * Property binder that converts all the values of a multi-valued parameter (e.g. <code>List&lt;LocalDate&gt;</code>) with a single call to
+ * {@link TemporalAccessorTypeConverter#convertAll(String[], Class, Collection)}. Everything else is bound by the default binder.
+ * <p>
+ * Indexed parameters (e.g. <code>dates[0]</code>, <code>dates[1]</code>) are separate single-valued parameters to Stripes, so
+ * they are still converted one at a time.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class Jsr310ActionBeanPropertyBinder extends DefaultActionBeanPropertyBinder {
+
+  @Override
+  protected List<Object> convert(ActionBean bean, ParameterName propertyName, String[] values, Class<?> declaredType,
+      Class<?> scalarType, ValidationMetadata validationInfo, List<ValidationError> errors) throws Exception {
+    if (values.length > 1 && (validationInfo == null || (validationInfo.converter() == null && !validationInfo.encrypted()))) {
+      Locale locale = bean.getContext().getRequest().getLocale();
+      TypeConverterFactory factory = getConfiguration().getTypeConverterFactory();
+      Class<?> returnType = declaredType;
+      TypeConverter<?> converter = factory.getTypeConverter(declaredType, locale);
+      if (converter == null) {
+        // Same as the default binder : List<LocalDate> and LocalDate[] are looked up by the element type.
+        returnType = scalarType;
+        converter = factory.getTypeConverter(scalarType, locale);
+      }
+      if (converter instanceof TemporalAccessorTypeConverter) {
+        int errorCount = errors.size();
+        List<Object> returns = convertAll((TemporalAccessorTypeConverter<?>) converter, values, returnType, errors);
+        for (ValidationError error : errors.subList(errorCount, errors.size())) {
+          error.setFieldName(propertyName.getStrippedName());
+        }
+        return returns;
+      }
+    }
+    return super.convert(bean, propertyName, values, declaredType, scalarType, validationInfo, errors);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends TemporalAccessor> List<Object> convertAll(TemporalAccessorTypeConverter<T> converter, String[] values,
+      Class<?> returnType, List<ValidationError> errors) {
+    T[] results = converter.convertAll(values, (Class<T>) returnType, errors);
+    List<Object> returns = new ArrayList<>(results.length);
+    for (T result : results) {
+      if (result != null) {
+        returns.add(result);
+      }
+    }
+    return returns;
+  }
+}
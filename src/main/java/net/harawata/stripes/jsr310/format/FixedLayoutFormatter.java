@@ -0,0 +1,341 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prints purely numeric patterns (e.g. <code>yyyy-MM-dd</code>, <code>HH:mm:ss</code>, <code>ISO_LOCAL_DATE</code>) into a pre-sized char array
+ * without going through {@link DateTimeFormatter}.
+ * <p>
+ * The output is identical to that of the source formatter. Methods return <code>null</code> (or <code>false</code>) for any value they do not
+ * handle so that the caller can fall back to the source formatter, which also throws the appropriate exception.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+final class FixedLayoutFormatter {
+
+  private static final int LITERAL = 0;
+
+  /** Zero padded to the width, at most maxWidth digits, no sign. */
+  private static final int NUMBER = 1;
+
+  /** Zero padded to the width, '+' if the width is exceeded (SignStyle.EXCEEDS_PAD). */
+  private static final int YEAR = 2;
+
+  /** Last two digits of the absolute value. */
+  private static final int REDUCED = 3;
+
+  /** Nano-of-second truncated to the width. */
+  private static final int FRACTION = 4;
+
+  /** Decimal point and nano-of-second without trailing zeros, omitted if zero. */
+  private static final int ISO_FRACTION = 5;
+
+  private static final long[] POWERS_OF_TEN = new long[19];
+
+  private static final Segment[] ISO_LOCAL_DATE = {
+      new Segment(YEAR, ChronoField.YEAR, 4, 10),
+      new Segment("-"),
+      new Segment(NUMBER, ChronoField.MONTH_OF_YEAR, 2, 2),
+      new Segment("-"),
+      new Segment(NUMBER, ChronoField.DAY_OF_MONTH, 2, 2) };
+
+  private static final Segment[] ISO_LOCAL_TIME = {
+      new Segment(NUMBER, ChronoField.HOUR_OF_DAY, 2, 2),
+      new Segment(":"),
+      new Segment(NUMBER, ChronoField.MINUTE_OF_HOUR, 2, 2),
+      new Segment(":"),
+      new Segment(NUMBER, ChronoField.SECOND_OF_MINUTE, 2, 2),
+      new Segment(ISO_FRACTION, ChronoField.NANO_OF_SECOND, 0, 9) };
+
+  static {
+    POWERS_OF_TEN[0] = 1L;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10L;
+    }
+  }
+
+  private final DateTimeFormatter source;
+
+  private final Segment[] segments;
+
+  private final int maxLength;
+
+  private FixedLayoutFormatter(DateTimeFormatter source, Segment[] segments) {
+    this.source = source;
+    this.segments = segments;
+    int length = 0;
+    for (Segment segment : segments) {
+      length += segment.maxLength();
+    }
+    this.maxLength = length;
+  }
+
+  /**
+   * @param source The formatter created from the pattern with {@link DateTimeFormatter#ofPattern(String, java.util.Locale)}.
+   * @return The fast formatter for the pattern or <code>null</code> if the pattern contains anything other than literals and the supported
+   *         numeric fields (y, u, M, d, H, m, s and S).
+   */
+  static FixedLayoutFormatter of(String pattern, DateTimeFormatter source) {
+    List<Segment> segments = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int len = pattern.length();
+    for (int pos = 0; pos < len; pos++) {
+      char c = pattern.charAt(pos);
+      if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+        int start = pos;
+        while (pos + 1 < len && pattern.charAt(pos + 1) == c) {
+          pos++;
+        }
+        Segment field = field(c, pos - start + 1);
+        if (field == null) {
+          return null;
+        }
+        if (literal.length() > 0) {
+          segments.add(new Segment(literal.toString()));
+          literal.setLength(0);
+        }
+        segments.add(field);
+      } else if (c == '\'') {
+        int end = pattern.indexOf('\'', pos + 1);
+        while (end > 0 && end + 1 < len && pattern.charAt(end + 1) == '\'') {
+          end = pattern.indexOf('\'', end + 2);
+        }
+        if (end < 0) {
+          return null;
+        }
+        literal.append(end == pos + 1 ? "'" : pattern.substring(pos + 1, end).replace("''", "'"));
+        pos = end;
+      } else if ("[]{}#".indexOf(c) >= 0) {
+        return null;
+      } else {
+        literal.append(c);
+      }
+    }
+    if (literal.length() > 0) {
+      segments.add(new Segment(literal.toString()));
+    }
+    return new FixedLayoutFormatter(source, segments.toArray(new Segment[segments.size()]));
+  }
+
+  /**
+   * @return The fast formatter for ISO_LOCAL_DATE, ISO_LOCAL_TIME and ISO_LOCAL_DATE_TIME or <code>null</code> for any other formatter.
+   */
+  static FixedLayoutFormatter of(DateTimeFormatter predefined) {
+    if (predefined == DateTimeFormatter.ISO_LOCAL_DATE) {
+      return new FixedLayoutFormatter(predefined, ISO_LOCAL_DATE);
+    } else if (predefined == DateTimeFormatter.ISO_LOCAL_TIME) {
+      return new FixedLayoutFormatter(predefined, ISO_LOCAL_TIME);
+    } else if (predefined == DateTimeFormatter.ISO_LOCAL_DATE_TIME) {
+      Segment[] segments = new Segment[ISO_LOCAL_DATE.length + 1 + ISO_LOCAL_TIME.length];
+      System.arraycopy(ISO_LOCAL_DATE, 0, segments, 0, ISO_LOCAL_DATE.length);
+      segments[ISO_LOCAL_DATE.length] = new Segment("T");
+      System.arraycopy(ISO_LOCAL_TIME, 0, segments, ISO_LOCAL_DATE.length + 1, ISO_LOCAL_TIME.length);
+      return new FixedLayoutFormatter(predefined, segments);
+    }
+    return null;
+  }
+
+  private static Segment field(char c, int count) {
+    switch (c) {
+      case 'y':
+      case 'u':
+        ChronoField year = c == 'y' ? ChronoField.YEAR_OF_ERA : ChronoField.YEAR;
+        if (count == 2) {
+          return new Segment(REDUCED, year, 2, 2);
+        } else if (count >= 4 && count < POWERS_OF_TEN.length) {
+          return new Segment(YEAR, year, count, 19);
+        }
+        return null;
+      case 'M':
+      case 'd':
+      case 'H':
+      case 'm':
+      case 's':
+        if (count > 2) {
+          return null;
+        }
+        ChronoField field = c == 'M' ? ChronoField.MONTH_OF_YEAR
+            : c == 'd' ? ChronoField.DAY_OF_MONTH
+                : c == 'H' ? ChronoField.HOUR_OF_DAY : c == 'm' ? ChronoField.MINUTE_OF_HOUR : ChronoField.SECOND_OF_MINUTE;
+        return new Segment(NUMBER, field, count, count == 2 ? 2 : 19);
+      case 'S':
+        return count <= 9 ? new Segment(FRACTION, ChronoField.NANO_OF_SECOND, count, count) : null;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return The formatter this instance is equivalent to.
+   */
+  DateTimeFormatter getSource() {
+    return source;
+  }
+
+  /**
+   * @return The formatted value or <code>null</code> if the value is not handled.
+   */
+  String format(TemporalAccessor temporal) {
+    char[] buf = new char[maxLength];
+    int length = print(temporal, buf);
+    return length < 0 ? null : new String(buf, 0, length);
+  }
+
+  /**
+   * @return <code>false</code> if the value is not handled, in which case nothing is appended.
+   */
+  boolean formatTo(TemporalAccessor temporal, StringBuilder appendable) {
+    char[] buf = new char[maxLength];
+    int length = print(temporal, buf);
+    if (length < 0) {
+      return false;
+    }
+    appendable.append(buf, 0, length);
+    return true;
+  }
+
+  private int print(TemporalAccessor temporal, char[] buf) {
+    int pos = 0;
+    try {
+      for (Segment segment : segments) {
+        if (segment.kind == LITERAL) {
+          segment.literal.getChars(0, segment.literal.length(), buf, pos);
+          pos += segment.literal.length();
+          continue;
+        }
+        long value = temporal.getLong(segment.field);
+        switch (segment.kind) {
+          case NUMBER:
+            if (value < 0L) {
+              return -1;
+            }
+            pos = appendNumber(buf, pos, value, segment.width, segment.maxWidth);
+            break;
+          case YEAR:
+            if (value < 0L) {
+              if (value == Long.MIN_VALUE) {
+                return -1;
+              }
+              buf[pos++] = '-';
+              value = -value;
+            } else if (value >= POWERS_OF_TEN[segment.width]) {
+              buf[pos++] = '+';
+            }
+            pos = appendNumber(buf, pos, value, segment.width, segment.maxWidth);
+            break;
+          case REDUCED:
+            pos = appendNumber(buf, pos, Math.abs(value % 100L), 2, 2);
+            break;
+          case FRACTION:
+            if (value < 0L || value >= POWERS_OF_TEN[9]) {
+              return -1;
+            }
+            pos = appendNumber(buf, pos, value / POWERS_OF_TEN[9 - segment.width], segment.width, segment.width);
+            break;
+          case ISO_FRACTION:
+            if (value < 0L || value >= POWERS_OF_TEN[9]) {
+              return -1;
+            }
+            if (value > 0L) {
+              int digits = 9;
+              while (value % 10L == 0L) {
+                value /= 10L;
+                digits--;
+              }
+              buf[pos++] = '.';
+              pos = appendNumber(buf, pos, value, digits, digits);
+            }
+            break;
+          default:
+            return -1;
+        }
+        if (pos < 0) {
+          return -1;
+        }
+      }
+    } catch (DateTimeException e) {
+      // Unsupported field; the source formatter throws the appropriate exception.
+      return -1;
+    }
+    return pos;
+  }
+
+  /**
+   * @return The position after the digits or -1 if the value has more than maxWidth digits.
+   */
+  private static int appendNumber(char[] buf, int pos, long value, int width, int maxWidth) {
+    int digits = 1;
+    while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+      digits++;
+    }
+    if (digits > maxWidth) {
+      return -1;
+    }
+    int end = pos + Math.max(width, digits);
+    for (int i = end - 1; i >= pos; i--) {
+      buf[i] = (char) ('0' + value % 10L);
+      value /= 10L;
+    }
+    return end;
+  }
+
+  private static final class Segment {
+    private final int kind;
+
+    private final ChronoField field;
+
+    private final int width;
+
+    private final int maxWidth;
+
+    private final String literal;
+
+    Segment(int kind, ChronoField field, int width, int maxWidth) {
+      this.kind = kind;
+      this.field = field;
+      this.width = width;
+      this.maxWidth = maxWidth;
+      this.literal = null;
+    }
+
+    Segment(String literal) {
+      this.kind = LITERAL;
+      this.field = null;
+      this.width = 0;
+      this.maxWidth = 0;
+      this.literal = literal;
+    }
+
+    int maxLength() {
+      switch (kind) {
+        case LITERAL:
+          return literal.length();
+        case YEAR:
+          return maxWidth + 1;
+        case ISO_FRACTION:
+          return maxWidth + 1;
+        default:
+          return Math.max(width, maxWidth);
+      }
+    }
+  }
+}
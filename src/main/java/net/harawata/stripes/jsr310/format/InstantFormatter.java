@@ -15,7 +15,9 @@ package net.harawata.stripes.jsr310.format;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
-import java.util.MissingResourceException;
+import java.util.function.Function;
+
+import net.harawata.stripes.jsr310.util.IsoInstantCodec;
 
 public class InstantFormatter extends TemporalAccessorFormatter<Instant> {
 
@@ -25,25 +27,52 @@ public class InstantFormatter extends TemporalAccessorFormatter<Instant> {
 
   public static final String KEY_DEFAULT_FORMAT_TYPE = "stripes.instantFormatter.defaultFormatType";
 
+  protected Function<Instant, String> isoFormat;
+
+  @Override
+  public void init() {
+    super.init();
+    formatter = formatter.withZone(ZoneOffset.UTC);
+    if (DEFAULT_FORMAT_PATTERN.equals(formatPattern)) {
+      isoFormat = IsoInstantCodec::formatMillis;
+    } else if ("ISO_INSTANT".equalsIgnoreCase(formatPattern)) {
+      isoFormat = IsoInstantCodec::formatIso;
+    } else {
+      isoFormat = null;
+    }
+  }
+
   @Override
   public String format(Instant input) {
-    return formatter.withZone(ZoneOffset.UTC).format(input);
+    if (isoFormat != null) {
+      String result = isoFormat.apply(input);
+      if (result != null) {
+        return result;
+      }
+    }
+    return formatter.format(input);
   }
 
-  protected String getDefaultFormatPattern() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return DEFAULT_FORMAT_PATTERN;
+  @Override
+  protected void appendTo(Instant input, StringBuilder buf) {
+    if (isoFormat != null) {
+      String result = isoFormat.apply(input);
+      if (result != null) {
+        buf.append(result);
+        return;
+      }
     }
+    formatter.formatTo(input, buf);
+  }
+
+  protected String getDefaultFormatPattern() {
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? DEFAULT_FORMAT_PATTERN : pattern;
   }
 
   protected String getDefaultFormatType() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_TYPE);
-    } catch (MissingResourceException e) {
-      return "datetime";
-    }
+    String type = getOptionalResourceString(KEY_DEFAULT_FORMAT_TYPE);
+    return type == null ? "datetime" : type;
   }
 
 }
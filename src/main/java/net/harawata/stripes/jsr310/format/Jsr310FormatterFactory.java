@@ -0,0 +1,199 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.format.DefaultFormatterFactory;
+import net.sourceforge.stripes.format.Formatter;
+
+/**
+ * Formatter factory that registers all the formatters of this library.
+ * <p>
+ * The registered formatters do not change after {@link TemporalAccessorFormatter#init()}, so initialized instances are cached and shared per type, formatType, formatPattern and locale.
+ * The number of cached instances is limited by the <code>Jsr310FormatterFactory.CacheSize</code> init-param (default: {@value #DEFAULT_CACHE_SIZE}).
+ * The cache is discarded when {@link NamedFormatters} is changed.
+ * The setters of a shared {@link TemporalAccessorFormatter} throw {@link IllegalStateException}, so callers that need a different configuration must create their own instance.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class Jsr310FormatterFactory extends DefaultFormatterFactory {
+
+  public static final String CACHE_SIZE = "Jsr310FormatterFactory.CacheSize";
+
+  public static final int DEFAULT_CACHE_SIZE = 1024;
+
+  private final Map<Class<?>, Supplier<? extends Formatter<?>>> constructors = new ConcurrentHashMap<>();
+
+  private volatile FormatterCache cache = new FormatterCache(NamedFormatters.getModificationCount());
+
+  private int cacheSize = DEFAULT_CACHE_SIZE;
+
+  @Override
+  public void init(Configuration configuration) throws Exception {
+    super.init(configuration);
+    if (configuration != null && configuration.getBootstrapPropertyResolver() != null) {
+      String size = configuration.getBootstrapPropertyResolver().getProperty(CACHE_SIZE);
+      if (size != null) {
+        cacheSize = Integer.parseInt(size.trim());
+      }
+    }
+    add(LocalDate.class, LocalDateFormatter.class, LocalDateFormatter::new);
+    add(LocalTime.class, LocalTimeFormatter.class, LocalTimeFormatter::new);
+    add(LocalDateTime.class, LocalDateTimeFormatter.class, LocalDateTimeFormatter::new);
+    add(Instant.class, InstantFormatter.class, InstantFormatter::new);
+    add(Month.class, MonthFormatter.class, MonthFormatter::new);
+    add(YearMonth.class, YearMonthFormatter.class, YearMonthFormatter::new);
+    add(Year.class, YearFormatter.class, YearFormatter::new);
+    add(OffsetDateTime.class, OffsetDateTimeFormatter.class, OffsetDateTimeFormatter::new);
+    add(OffsetTime.class, OffsetTimeFormatter.class, OffsetTimeFormatter::new);
+    add(ZonedDateTime.class, ZonedDateTimeFormatter.class, ZonedDateTimeFormatter::new);
+  }
+
+  /**
+   * Registers a formatter whose initialized instances are cached and shared. The formatter must not change after {@link Formatter#init()}.
+   */
+  public <T, F extends Formatter<T>> void add(Class<T> targetType, Class<F> formatterClass, Supplier<F> constructor) {
+    add(targetType, formatterClass);
+    constructors.put(formatterClass, constructor);
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
+  }
+
+  public void setCacheSize(int cacheSize) {
+    this.cacheSize = cacheSize;
+  }
+
+  @Override
+  public Formatter<?> getInstance(Class<? extends Formatter<?>> clazz, String formatType, String formatPattern, Locale locale) throws Exception {
+    Supplier<? extends Formatter<?>> constructor = constructors.get(clazz);
+    if (constructor == null) {
+      return super.getInstance(clazz, formatType, formatPattern, locale);
+    }
+    FormatterCache current = cache;
+    long modifications = NamedFormatters.getModificationCount();
+    if (current.namedFormatterModifications != modifications) {
+      // The cached formatters may have been initialized with a named formatter that has been replaced.
+      current = new FormatterCache(modifications);
+      cache = current;
+    }
+    ConcurrentMap<FormatterKey, Formatter<?>> formatters = current.formatters;
+    FormatterKey key = new FormatterKey(clazz, formatType, formatPattern, locale);
+    Formatter<?> formatter = formatters.get(key);
+    if (formatter == null) {
+      formatter = constructor.get();
+      formatter.setFormatType(formatType);
+      formatter.setFormatPattern(formatPattern);
+      formatter.setLocale(locale);
+      formatter.init();
+      if (cacheSize > 0) {
+        if (formatter instanceof TemporalAccessorFormatter) {
+          ((TemporalAccessorFormatter<?>) formatter).share();
+        }
+        evictIfFull(formatters);
+        Formatter<?> existing = formatters.putIfAbsent(key, formatter);
+        if (existing != null) {
+          formatter = existing;
+        }
+      }
+    }
+    return formatter;
+  }
+
+  /**
+   * Discards all the cached formatters.
+   */
+  public void clearCache() {
+    cache = new FormatterCache(NamedFormatters.getModificationCount());
+  }
+
+  private void evictIfFull(ConcurrentMap<FormatterKey, Formatter<?>> formatters) {
+    Iterator<FormatterKey> iterator = formatters.keySet().iterator();
+    while (formatters.size() >= cacheSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  private static final class FormatterCache {
+    private final long namedFormatterModifications;
+
+    private final ConcurrentMap<FormatterKey, Formatter<?>> formatters = new ConcurrentHashMap<>();
+
+    FormatterCache(long namedFormatterModifications) {
+      this.namedFormatterModifications = namedFormatterModifications;
+    }
+  }
+
+  private static final class FormatterKey {
+    private final Class<?> formatterClass;
+
+    private final String formatType;
+
+    private final String formatPattern;
+
+    private final Locale locale;
+
+    private final int hashCode;
+
+    FormatterKey(Class<?> formatterClass, String formatType, String formatPattern, Locale locale) {
+      this.formatterClass = formatterClass;
+      this.formatType = formatType;
+      this.formatPattern = formatPattern;
+      this.locale = locale;
+      this.hashCode = Objects.hash(formatterClass, formatType, formatPattern, locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof FormatterKey)) {
+        return false;
+      }
+      FormatterKey other = (FormatterKey) obj;
+      return formatterClass == other.formatterClass
+          && Objects.equals(formatType, other.formatType)
+          && Objects.equals(formatPattern, other.formatPattern)
+          && Objects.equals(locale, other.locale);
+    }
+  }
+
+}
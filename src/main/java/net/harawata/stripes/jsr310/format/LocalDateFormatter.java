@@ -14,7 +14,6 @@
 package net.harawata.stripes.jsr310.format;
 
 import java.time.LocalDate;
-import java.util.MissingResourceException;
 
 public class LocalDateFormatter extends TemporalAccessorFormatter<LocalDate> {
 
@@ -23,19 +22,13 @@ public class LocalDateFormatter extends TemporalAccessorFormatter<LocalDate> {
   public static final String KEY_DEFAULT_FORMAT_TYPE = "stripes.localDateFormatter.defaultFormatType";
 
   protected String getDefaultFormatPattern() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return "medium";
-    }
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? "medium" : pattern;
   }
 
   protected String getDefaultFormatType() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_TYPE);
-    } catch (MissingResourceException e) {
-      return "date";
-    }
+    String type = getOptionalResourceString(KEY_DEFAULT_FORMAT_TYPE);
+    return type == null ? "date" : type;
   }
 
 }
@@ -14,7 +14,6 @@
 package net.harawata.stripes.jsr310.format;
 
 import java.time.LocalDateTime;
-import java.util.MissingResourceException;
 
 public class LocalDateTimeFormatter extends TemporalAccessorFormatter<LocalDateTime> {
 
@@ -23,19 +22,13 @@ public class LocalDateTimeFormatter extends TemporalAccessorFormatter<LocalDateT
   public static final String KEY_DEFAULT_FORMAT_TYPE = "stripes.localDateTimeFormatter.defaultFormatType";
 
   protected String getDefaultFormatPattern() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return "short";
-    }
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? "short" : pattern;
   }
 
   protected String getDefaultFormatType() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_TYPE);
-    } catch (MissingResourceException e) {
-      return "datetime";
-    }
+    String type = getOptionalResourceString(KEY_DEFAULT_FORMAT_TYPE);
+    return type == null ? "datetime" : type;
   }
 
 }
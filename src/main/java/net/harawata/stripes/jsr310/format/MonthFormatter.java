@@ -13,8 +13,14 @@
  */
 package net.harawata.stripes.jsr310.format;
 
+import java.time.DateTimeException;
 import java.time.Month;
-import java.util.MissingResourceException;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class MonthFormatter extends TemporalAccessorFormatter<Month> {
 
@@ -22,12 +28,89 @@ public class MonthFormatter extends TemporalAccessorFormatter<Month> {
 
   public static final String KEY_DEFAULT_FORMAT_PATTERN = "stripes.monthFormatter.defaultFormatPattern";
 
-  protected String getDefaultFormatPattern() {
+  /**
+   * Maximum number of custom pattern and locale combinations whose names are kept in memory. When it is reached, arbitrary entries are
+   * discarded and formatted again on next use.
+   */
+  public static final int NAMES_CACHE_SIZE = 1024;
+
+  private static final ConcurrentMap<List<Object>, String[]> NAMES = new ConcurrentHashMap<>();
+
+  /**
+   * Formatted values indexed by {@link Month#ordinal()} or <code>null</code> if the formatter cannot format a month.
+   */
+  protected String[] names;
+
+  /**
+   * The formatter {@link #names} were formatted with; subclasses may replace the formatter after init().
+   */
+  private DateTimeFormatter namesSource;
+
+  @Override
+  public void init() {
+    super.init();
+    if (resolveConst(formatPattern) == null && resolveFormatStyle(formatPattern) == null) {
+      // Custom pattern: the formatter depends only on the pattern and the locale.
+      List<Object> key = Arrays.asList(locale, formatPattern);
+      names = NAMES.get(key);
+      if (names == null) {
+        names = formatAll();
+        if (names != null) {
+          evictIfFull();
+          NAMES.putIfAbsent(key, names);
+        }
+      }
+    } else {
+      names = formatAll();
+    }
+    namesSource = formatter;
+  }
+
+  @Override
+  public String format(Month input) {
+    return names == null || namesSource != formatter ? super.format(input) : names[input.ordinal()];
+  }
+
+  @Override
+  protected void appendTo(Month input, StringBuilder buf) {
+    if (names == null || namesSource != formatter) {
+      super.appendTo(input, buf);
+    } else {
+      buf.append(names[input.ordinal()]);
+    }
+  }
+
+  private static void evictIfFull() {
+    Iterator<List<Object>> iterator = NAMES.keySet().iterator();
+    while (NAMES.size() >= NAMES_CACHE_SIZE && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @return The number of cached names.
+   */
+  static int getNamesCount() {
+    return NAMES.size();
+  }
+
+  private String[] formatAll() {
+    Month[] months = Month.values();
+    String[] result = new String[months.length];
     try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return DEFAULT_FORMAT_PATTERN;
+      for (Month month : months) {
+        result[month.ordinal()] = formatter.format(month);
+      }
+    } catch (DateTimeException e) {
+      return null;
     }
+    return result;
+  }
+
+  protected String getDefaultFormatPattern() {
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? DEFAULT_FORMAT_PATTERN : pattern;
   }
 
   protected String getDefaultFormatType() {
@@ -0,0 +1,123 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Case-insensitive registry of named formatters that can be used as <code>formatPattern</code>.
+ * <p>
+ * It contains the predefined constants of {@link DateTimeFormatter} (e.g. <code>iso_local_date</code>). Applications can register their own named formatters with {@link #register(String, DateTimeFormatter)}.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public final class NamedFormatters {
+
+  private static final NavigableMap<String, DateTimeFormatter> PREDEFINED;
+
+  private static final ConcurrentSkipListMap<String, DateTimeFormatter> FORMATTERS;
+
+  /**
+   * Incremented after each change so that the formatters initialized with an old registration can be discarded.
+   */
+  private static final AtomicLong MODIFICATIONS = new AtomicLong();
+
+  static {
+    NavigableMap<String, DateTimeFormatter> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    map.put("BASIC_ISO_DATE", DateTimeFormatter.BASIC_ISO_DATE);
+    map.put("ISO_DATE", DateTimeFormatter.ISO_DATE);
+    map.put("ISO_DATE_TIME", DateTimeFormatter.ISO_DATE_TIME);
+    map.put("ISO_INSTANT", DateTimeFormatter.ISO_INSTANT);
+    map.put("ISO_LOCAL_DATE", DateTimeFormatter.ISO_LOCAL_DATE);
+    map.put("ISO_LOCAL_DATE_TIME", DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    map.put("ISO_LOCAL_TIME", DateTimeFormatter.ISO_LOCAL_TIME);
+    map.put("ISO_OFFSET_DATE", DateTimeFormatter.ISO_OFFSET_DATE);
+    map.put("ISO_OFFSET_DATE_TIME", DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    map.put("ISO_OFFSET_TIME", DateTimeFormatter.ISO_OFFSET_TIME);
+    map.put("ISO_ORDINAL_DATE", DateTimeFormatter.ISO_ORDINAL_DATE);
+    map.put("ISO_TIME", DateTimeFormatter.ISO_TIME);
+    map.put("ISO_WEEK_DATE", DateTimeFormatter.ISO_WEEK_DATE);
+    map.put("ISO_ZONED_DATE_TIME", DateTimeFormatter.ISO_ZONED_DATE_TIME);
+    map.put("RFC_1123_DATE_TIME", DateTimeFormatter.RFC_1123_DATE_TIME);
+    PREDEFINED = Collections.unmodifiableNavigableMap(map);
+    FORMATTERS = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+    FORMATTERS.putAll(PREDEFINED);
+  }
+
+  private NamedFormatters() {
+    super();
+  }
+
+  /**
+   * @return The formatter registered with the name (case-insensitive) or <code>null</code>.
+   */
+  public static DateTimeFormatter get(String name) {
+    return name == null ? null : FORMATTERS.get(name);
+  }
+
+  /**
+   * Registers a named formatter. The predefined constants cannot be replaced and the names of {@link FormatStyle} cannot be used.
+   * <p>
+   * The formatters cached by {@link Jsr310FormatterFactory} are discarded, so a new or replaced name takes effect on the next lookup.
+   * </p>
+   * 
+   * @throws IllegalArgumentException If the name is one of the predefined constants or a format style.
+   */
+  public static void register(String name, DateTimeFormatter formatter) {
+    if (PREDEFINED.containsKey(name)) {
+      throw new IllegalArgumentException("Cannot replace the predefined formatter " + name);
+    }
+    for (FormatStyle style : FormatStyle.values()) {
+      if (style.name().equalsIgnoreCase(name)) {
+        throw new IllegalArgumentException("Cannot use the format style " + name + " as a name");
+      }
+    }
+    FORMATTERS.put(name, formatter);
+    MODIFICATIONS.incrementAndGet();
+  }
+
+  /**
+   * @return <code>true</code> if a formatter registered by the application has been removed.
+   */
+  public static boolean unregister(String name) {
+    if (!PREDEFINED.containsKey(name) && FORMATTERS.remove(name) != null) {
+      MODIFICATIONS.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return The number of times the registry has been changed.
+   */
+  static long getModificationCount() {
+    return MODIFICATIONS.get();
+  }
+
+  /**
+   * @return Unmodifiable view of all the named formatters.
+   */
+  public static Map<String, DateTimeFormatter> getAll() {
+    return Collections.unmodifiableMap(FORMATTERS);
+  }
+
+}
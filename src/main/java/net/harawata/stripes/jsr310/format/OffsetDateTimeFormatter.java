@@ -14,7 +14,6 @@
 package net.harawata.stripes.jsr310.format;
 
 import java.time.OffsetDateTime;
-import java.util.MissingResourceException;
 
 public class OffsetDateTimeFormatter extends TemporalAccessorFormatter<OffsetDateTime> {
 
@@ -25,19 +24,13 @@ public class OffsetDateTimeFormatter extends TemporalAccessorFormatter<OffsetDat
   public static final String KEY_DEFAULT_FORMAT_TYPE = "stripes.offsetDateTimeFormatter.defaultFormatType";
 
   protected String getDefaultFormatPattern() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return DEFAULT_FORMAT_PATTERN;
-    }
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? DEFAULT_FORMAT_PATTERN : pattern;
   }
 
   protected String getDefaultFormatType() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_TYPE);
-    } catch (MissingResourceException e) {
-      return "datetime";
-    }
+    String type = getOptionalResourceString(KEY_DEFAULT_FORMAT_TYPE);
+    return type == null ? "datetime" : type;
   }
 
 }
@@ -14,7 +14,6 @@
 package net.harawata.stripes.jsr310.format;
 
 import java.time.OffsetTime;
-import java.util.MissingResourceException;
 
 public class OffsetTimeFormatter extends TemporalAccessorFormatter<OffsetTime> {
 
@@ -23,11 +22,8 @@ public class OffsetTimeFormatter extends TemporalAccessorFormatter<OffsetTime> {
   public static final String KEY_DEFAULT_FORMAT_PATTERN = "stripes.offsetTimeFormatter.defaultFormatPattern";
 
   protected String getDefaultFormatPattern() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return DEFAULT_FORMAT_PATTERN;
-    }
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? DEFAULT_FORMAT_PATTERN : pattern;
   }
 
   protected String getDefaultFormatType() {
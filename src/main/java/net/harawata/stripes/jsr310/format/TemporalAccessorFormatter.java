@@ -13,25 +13,40 @@
  */
 package net.harawata.stripes.jsr310.format;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.time.temporal.TemporalAccessor;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Objects;
 import java.util.ResourceBundle;
 
+import net.harawata.stripes.jsr310.util.BundleSnapshot;
 import net.sourceforge.stripes.controller.StripesFilter;
 import net.sourceforge.stripes.exception.StripesRuntimeException;
 import net.sourceforge.stripes.format.Formatter;
 
 /**
  * Subclasses implement Formatter only because Stripes cannot auto-detect them without it. ReflectUtil#getActualTypeArguments cannot resolve type variables correctly .
+ * <p>
+ * Instances returned by {@link Jsr310FormatterFactory} are shared, so their setters and {@link #init()} throw {@link IllegalStateException} instead of changing them.
+ * </p>
  * 
  * @author Iwao AVE!
  * @param <T>
  */
 public abstract class TemporalAccessorFormatter<T extends TemporalAccessor> implements Formatter<T> {
 
+  private static final FormatStyle[] FORMAT_STYLES = FormatStyle.values();
+
+  private static final int MAX_BUFFER_SIZE = 1024;
+
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(64));
+
+  private static final ThreadLocal<char[]> CHARS = ThreadLocal.withInitial(() -> new char[64]);
+
   protected Locale locale;
 
   protected String formatType;
@@ -40,11 +55,22 @@ public abstract class TemporalAccessorFormatter<T extends TemporalAccessor> impl
 
   protected DateTimeFormatter formatter;
 
+  /**
+   * Used only while {@link #formatter} is its source; subclasses may replace the formatter after init().
+   */
+  private FixedLayoutFormatter fixedLayout;
+
+  /**
+   * Set by {@link Jsr310FormatterFactory} before the instance is returned to other callers.
+   */
+  private volatile boolean shared;
+
   public Locale getLocale() {
     return locale;
   }
 
   public void setLocale(Locale locale) {
+    checkNotShared("locale", this.locale, locale);
     this.locale = locale;
   }
 
@@ -53,6 +79,7 @@ public abstract class TemporalAccessorFormatter<T extends TemporalAccessor> impl
   }
 
   public void setFormatType(String formatType) {
+    checkNotShared("formatType", this.formatType, formatType);
     this.formatType = formatType;
   }
 
@@ -61,17 +88,33 @@ public abstract class TemporalAccessorFormatter<T extends TemporalAccessor> impl
   }
 
   public void setFormatPattern(String formatPattern) {
+    checkNotShared("formatPattern", this.formatPattern, formatPattern);
     this.formatPattern = formatPattern;
   }
 
+  void share() {
+    shared = true;
+  }
+
+  private void checkNotShared(String property, Object current, Object value) {
+    if (shared && !Objects.equals(current, value)) {
+      throw new IllegalStateException("Cannot change " + property + " of a shared formatter. Create a new instance instead.");
+    }
+  }
+
   public void init() {
+    if (shared) {
+      throw new IllegalStateException("A shared formatter is already initialized.");
+    }
     FormatStyle style = null;
     if (formatPattern == null) {
       formatPattern = getDefaultFormatPattern();
     }
 
+    fixedLayout = null;
     formatter = resolveConst(formatPattern);
     if (formatter != null) {
+      fixedLayout = FixedLayoutFormatter.of(formatter);
       return;
     }
 
@@ -92,43 +135,100 @@ public abstract class TemporalAccessorFormatter<T extends TemporalAccessor> impl
       return;
     }
     formatter = DateTimeFormatter.ofPattern(formatPattern, locale);
+    fixedLayout = FixedLayoutFormatter.of(formatPattern, formatter);
   }
 
   protected static FormatStyle resolveFormatStyle(String styleName) {
-    try {
-      if (styleName != null) {
-        return FormatStyle.valueOf(styleName.toUpperCase(Locale.ENGLISH));
+    if (styleName != null) {
+      for (FormatStyle style : FORMAT_STYLES) {
+        if (style.name().equalsIgnoreCase(styleName)) {
+          return style;
+        }
       }
-    } catch (IllegalArgumentException e) {
-      // expected
     }
     return null;
   }
 
+  /**
+   * @see NamedFormatters
+   */
   protected static DateTimeFormatter resolveConst(String constName) {
-    if (constName == null || constName.isEmpty()) {
-      return null;
-    }
-    try {
-      return (DateTimeFormatter) DateTimeFormatter.class.getDeclaredField(constName.toUpperCase(Locale.ENGLISH)).get(null);
-    } catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException e) {
-      // expected
-    }
-    return null;
+    return NamedFormatters.get(constName);
   }
 
   protected String getResourceString(String key) throws MissingResourceException {
     return getErrorMessageBundle().getString(key);
   }
 
+  /**
+   * @return The value from the snapshot of the error bundle or <code>null</code> if the key is missing.
+   * @see BundleSnapshot
+   */
+  protected String getOptionalResourceString(String key) {
+    return getBundleSnapshot().get(key);
+  }
+
+  protected BundleSnapshot getBundleSnapshot() {
+    return BundleSnapshot.of(getErrorMessageBundle());
+  }
+
   protected ResourceBundle getErrorMessageBundle() {
     return StripesFilter.getConfiguration().getLocalizationBundleFactory().getErrorMessageBundle(locale);
   }
 
   public String format(T input) {
+    if (fixedLayout != null && fixedLayout.getSource() == formatter) {
+      String result = fixedLayout.format(input);
+      if (result != null) {
+        return result;
+      }
+    }
     return formatter.format(input);
   }
 
+  /**
+   * Writes the formatted value to the appendable without creating an intermediate String.
+   * <p>
+   * A {@link Writer} (e.g. JspWriter) receives the characters from a buffer reused per thread.
+   * </p>
+   */
+  public void formatTo(T input, Appendable appendable) throws IOException {
+    if (appendable instanceof StringBuilder) {
+      appendTo(input, (StringBuilder) appendable);
+      return;
+    }
+    StringBuilder buf = BUFFER.get();
+    buf.setLength(0);
+    appendTo(input, buf);
+    int length = buf.length();
+    if (appendable instanceof Writer) {
+      char[] chars = CHARS.get();
+      if (chars.length < length) {
+        chars = new char[length];
+        if (length <= MAX_BUFFER_SIZE) {
+          CHARS.set(chars);
+        }
+      }
+      buf.getChars(0, length, chars, 0);
+      ((Writer) appendable).write(chars, 0, length);
+    } else {
+      appendable.append(buf);
+    }
+    if (buf.capacity() > MAX_BUFFER_SIZE) {
+      BUFFER.remove();
+    }
+  }
+
+  /**
+   * Appends the formatted value to the buffer. Subclasses may override this to provide a faster path than {@link DateTimeFormatter}.
+   */
+  protected void appendTo(T input, StringBuilder buf) {
+    if (fixedLayout != null && fixedLayout.getSource() == formatter && fixedLayout.formatTo(input, buf)) {
+      return;
+    }
+    formatter.formatTo(input, buf);
+  }
+
   protected abstract String getDefaultFormatPattern();
 
   protected abstract String getDefaultFormatType();
@@ -13,8 +13,19 @@
  */
 package net.harawata.stripes.jsr310.format;
 
+import java.time.DateTimeException;
 import java.time.Year;
-import java.util.MissingResourceException;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.harawata.stripes.jsr310.util.BundleSnapshot;
+import net.sourceforge.stripes.exception.StripesRuntimeException;
 
 public class YearFormatter extends TemporalAccessorFormatter<Year> {
 
@@ -22,12 +33,135 @@ public class YearFormatter extends TemporalAccessorFormatter<Year> {
 
   public static final String KEY_DEFAULT_FORMAT_PATTERN = "stripes.yearFormatter.defaultFormatPattern";
 
-  protected String getDefaultFormatPattern() {
+  public static final String DEFAULT_TABLE_RANGE = "1900-2100";
+
+  /**
+   * Range of the years formatted in advance (e.g. <code>1900-2100</code>). An empty range like <code>1-0</code> disables the table.
+   */
+  public static final String KEY_TABLE_RANGE = "stripes.yearFormatter.tableRange";
+
+  /**
+   * Maximum number of tables kept in memory. When it is reached, arbitrary tables are discarded and formatted again on next use.
+   */
+  public static final int TABLE_CACHE_SIZE = 1024;
+
+  /**
+   * Cached when the formatter cannot format a year, so that it is not tried again.
+   */
+  private static final String[] NO_TABLE = new String[0];
+
+  private static final ConcurrentMap<List<Object>, String[]> TABLES = new ConcurrentHashMap<>();
+
+  protected int tableMin;
+
+  /**
+   * Formatted values of the years from {@link #tableMin} or <code>null</code>.
+   */
+  protected String[] table;
+
+  /**
+   * The formatter {@link #table} was formatted with; subclasses may replace the formatter after init().
+   */
+  private DateTimeFormatter tableSource;
+
+  @Override
+  public void init() {
+    super.init();
+    int[] range = getBundleSnapshot().derive(KEY_TABLE_RANGE, YearFormatter::parseTableRange);
+    int min = range[0];
+    int max = range[1];
+    tableMin = min;
+    tableSource = formatter;
+    if (max < min) {
+      table = null;
+      return;
+    }
+    // The key identifies the formatter without comparing formatters, which do not implement equals().
+    List<Object> key;
+    FormatStyle style = resolveFormatStyle(formatPattern);
+    if (resolveConst(formatPattern) == formatter) {
+      key = Arrays.asList(formatter, min, max);
+    } else if (style != null) {
+      key = Arrays.asList(locale, style, formatType.toLowerCase(Locale.ENGLISH), min, max);
+    } else {
+      key = Arrays.asList(locale, formatPattern, min, max);
+    }
+    String[] cached = TABLES.get(key);
+    if (cached == null) {
+      cached = formatAll(min, max);
+      evictIfFull();
+      TABLES.putIfAbsent(key, cached);
+    }
+    table = cached == NO_TABLE ? null : cached;
+  }
+
+  private static int[] parseTableRange(BundleSnapshot bundle) {
+    String range = bundle.get(KEY_TABLE_RANGE);
+    if (range == null) {
+      range = DEFAULT_TABLE_RANGE;
+    }
+    int separator = range.indexOf('-', 1);
+    if (separator < 0) {
+      throw new StripesRuntimeException("Invalid " + KEY_TABLE_RANGE + ": " + range);
+    }
+    int min = Integer.parseInt(range.substring(0, separator).trim());
+    int max = Integer.parseInt(range.substring(separator + 1).trim());
+    return new int[] { min, max };
+  }
+
+  private static void evictIfFull() {
+    Iterator<List<Object>> iterator = TABLES.keySet().iterator();
+    while (TABLES.size() >= TABLE_CACHE_SIZE && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @return The number of cached tables, including the formatters that have none.
+   */
+  static int getTableCount() {
+    return TABLES.size();
+  }
+
+  @Override
+  public String format(Year input) {
+    if (table != null && tableSource == formatter) {
+      int index = input.getValue() - tableMin;
+      if (index >= 0 && index < table.length) {
+        return table[index];
+      }
+    }
+    return super.format(input);
+  }
+
+  @Override
+  protected void appendTo(Year input, StringBuilder buf) {
+    if (table != null && tableSource == formatter) {
+      int index = input.getValue() - tableMin;
+      if (index >= 0 && index < table.length) {
+        buf.append(table[index]);
+        return;
+      }
+    }
+    super.appendTo(input, buf);
+  }
+
+  private String[] formatAll(int min, int max) {
+    String[] result = new String[max - min + 1];
     try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return DEFAULT_FORMAT_PATTERN;
+      for (int i = 0; i < result.length; i++) {
+        result[i] = formatter.format(Year.of(min + i));
+      }
+    } catch (DateTimeException e) {
+      return NO_TABLE;
     }
+    return result;
+  }
+
+  protected String getDefaultFormatPattern() {
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? DEFAULT_FORMAT_PATTERN : pattern;
   }
 
   protected String getDefaultFormatType() {
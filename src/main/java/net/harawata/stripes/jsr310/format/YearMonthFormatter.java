@@ -14,7 +14,6 @@
 package net.harawata.stripes.jsr310.format;
 
 import java.time.YearMonth;
-import java.util.MissingResourceException;
 
 public class YearMonthFormatter extends TemporalAccessorFormatter<YearMonth> {
 
@@ -23,11 +22,8 @@ public class YearMonthFormatter extends TemporalAccessorFormatter<YearMonth> {
   public static final String KEY_DEFAULT_FORMAT_PATTERN = "stripes.yearMonthFormatter.defaultFormatPattern";
 
   protected String getDefaultFormatPattern() {
-    try {
-      return getResourceString(KEY_DEFAULT_FORMAT_PATTERN);
-    } catch (MissingResourceException e) {
-      return DEFAULT_FORMAT_PATTERN;
-    }
+    String pattern = getOptionalResourceString(KEY_DEFAULT_FORMAT_PATTERN);
+    return pattern == null ? DEFAULT_FORMAT_PATTERN : pattern;
   }
 
   protected String getDefaultFormatType() {
@@ -0,0 +1,54 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.tag;
+
+import java.io.IOException;
+import java.time.temporal.TemporalAccessor;
+
+import javax.servlet.jsp.JspException;
+
+import net.harawata.stripes.jsr310.format.TemporalAccessorFormatter;
+import net.sourceforge.stripes.controller.StripesFilter;
+import net.sourceforge.stripes.format.Formatter;
+
+/**
+ * Same as Stripes' <code>format</code> tag except that temporal values are written directly to the JspWriter without an intermediate String.
+ * 
+ * @author Iwao AVE!
+ */
+public class FormatTag extends net.sourceforge.stripes.tag.FormatTag {
+
+  @Override
+  protected void writeOut(Object value) throws JspException {
+    if (value instanceof TemporalAccessor) {
+      Formatter<?> formatter = StripesFilter.getConfiguration().getFormatterFactory().getFormatter(value.getClass(),
+          getPageContext().getRequest().getLocale(), getFormatType(), getFormatPattern());
+      if (formatter instanceof TemporalAccessorFormatter) {
+        writeTemporal((TemporalAccessorFormatter<?>) formatter, (TemporalAccessor) value);
+        return;
+      }
+    }
+    super.writeOut(value);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T extends TemporalAccessor> void writeTemporal(TemporalAccessorFormatter<T> formatter, TemporalAccessor value)
+      throws JspException {
+    try {
+      formatter.formatTo((T) value, getPageContext().getOut());
+    } catch (IOException e) {
+      throw new JspException("IOException encountered while writing formatted value '" + value + "' to the JspWriter.", e);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Immutable copy of the <code>stripes.*</code> entries of a resource bundle.
+ * <p>
+ * Snapshots are cached per bundle instance, so a bundle reloaded by Stripes (or after {@link ResourceBundle#clearCache()}) gets a new snapshot.
+ * A missing key is simply absent from the snapshot and looking it up does not throw {@link java.util.MissingResourceException}.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public final class BundleSnapshot {
+
+  public static final String KEY_PREFIX = "stripes.";
+
+  private static final ConcurrentMap<BundleKey, BundleSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+  private static final ReferenceQueue<ResourceBundle> STALE_BUNDLES = new ReferenceQueue<>();
+
+  private final Map<String, String> entries;
+
+  private final ConcurrentMap<Object, Object> derivedValues = new ConcurrentHashMap<>();
+
+  private BundleSnapshot(ResourceBundle bundle) {
+    Map<String, String> map = new HashMap<>();
+    for (String key : bundle.keySet()) {
+      if (key.startsWith(KEY_PREFIX)) {
+        Object value = bundle.getObject(key);
+        if (value instanceof String) {
+          map.put(key, (String) value);
+        }
+      }
+    }
+    this.entries = Collections.unmodifiableMap(map);
+  }
+
+  /**
+   * @return The snapshot of the bundle, created on the first call for the bundle instance.
+   */
+  public static BundleSnapshot of(ResourceBundle bundle) {
+    BundleSnapshot snapshot = SNAPSHOTS.get(new BundleKey(bundle, null));
+    if (snapshot == null) {
+      expungeStaleEntries();
+      snapshot = SNAPSHOTS.computeIfAbsent(new BundleKey(bundle, STALE_BUNDLES), k -> new BundleSnapshot(bundle));
+    }
+    return snapshot;
+  }
+
+  /**
+   * Discards all the snapshots. Call this after changing the contents of a bundle without reloading it.
+   */
+  public static void clear() {
+    SNAPSHOTS.clear();
+  }
+
+  /**
+   * @return The value or <code>null</code> if the bundle does not contain the key.
+   */
+  public String get(String key) {
+    return entries.get(key);
+  }
+
+  public boolean contains(String key) {
+    return entries.containsKey(key);
+  }
+
+  /**
+   * Returns a value computed from the entries (e.g. parsed settings), so that it is computed once per snapshot instead of on every lookup.
+   * The function must depend only on the snapshot and the key.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> V derive(Object key, Function<BundleSnapshot, V> function) {
+    Object value = derivedValues.get(key);
+    if (value == null) {
+      value = derivedValues.computeIfAbsent(key, k -> function.apply(this));
+    }
+    return (V) value;
+  }
+
+  private static void expungeStaleEntries() {
+    Object stale;
+    while ((stale = STALE_BUNDLES.poll()) != null) {
+      SNAPSHOTS.remove(stale);
+    }
+  }
+
+  private static final class BundleKey extends WeakReference<ResourceBundle> {
+    private final int hashCode;
+
+    BundleKey(ResourceBundle bundle, ReferenceQueue<ResourceBundle> queue) {
+      super(bundle, queue);
+      this.hashCode = System.identityHashCode(bundle);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BundleKey)) {
+        return false;
+      }
+      ResourceBundle bundle = get();
+      return bundle != null && bundle == ((BundleKey) obj).get();
+    }
+  }
+
+}
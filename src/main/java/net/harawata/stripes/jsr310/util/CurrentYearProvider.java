@@ -0,0 +1,80 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Supplies the current year used to complete inputs without a year.
+ * <p>
+ * The year is read from the clock at most once per second, except that it is re-read as soon as the clock reaches the next year.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class CurrentYearProvider {
+
+  private static final long REFRESH_INTERVAL_MILLIS = 1000L;
+
+  private static volatile CurrentYearProvider defaultProvider = new CurrentYearProvider(Clock.systemDefaultZone());
+
+  private final Clock clock;
+
+  private volatile Snapshot snapshot = new Snapshot(0, Long.MIN_VALUE, Long.MIN_VALUE);
+
+  public CurrentYearProvider(Clock clock) {
+    this.clock = clock;
+  }
+
+  public static CurrentYearProvider getDefault() {
+    return defaultProvider;
+  }
+
+  public static void setDefault(CurrentYearProvider provider) {
+    defaultProvider = provider;
+  }
+
+  public Clock getClock() {
+    return clock;
+  }
+
+  public int getYear() {
+    long now = clock.millis();
+    Snapshot current = snapshot;
+    if (now >= current.readAt && now < current.validUntil) {
+      return current.year;
+    }
+    LocalDate today = LocalDate.now(clock);
+    long nextYear = today.withDayOfYear(1).plusYears(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    current = new Snapshot(today.getYear(), now, Math.min(now + REFRESH_INTERVAL_MILLIS, nextYear));
+    snapshot = current;
+    return current.year;
+  }
+
+  private static final class Snapshot {
+    private final int year;
+
+    private final long readAt;
+
+    private final long validUntil;
+
+    Snapshot(int year, long readAt, long validUntil) {
+      this.year = year;
+      this.readAt = readAt;
+      this.validUntil = validUntil;
+    }
+  }
+
+}
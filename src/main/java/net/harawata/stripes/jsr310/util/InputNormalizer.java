@@ -0,0 +1,111 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+/**
+ * Hand-coded equivalent of replacing <code>(?&lt;=[0-9])T(?=[0-9])|[,/:\s\.-]+</code> with a space and trimming the result.
+ * 
+ * @author Iwao AVE!
+ */
+public final class InputNormalizer {
+
+  private InputNormalizer() {
+    super();
+  }
+
+  public static String normalize(String input) {
+    int length = input.length();
+    char[] buf = null;
+    int pos = 0;
+    int i = 0;
+    while (i < length) {
+      char c = input.charAt(i);
+      if (isSeparator(c)) {
+        int start = i;
+        while (++i < length && isSeparator(input.charAt(i))) {
+          // skip
+        }
+        if (buf == null && c == ' ' && i - start == 1) {
+          // A single space is kept as it is.
+          pos++;
+          continue;
+        }
+        buf = ensureBuffer(buf, input, pos, length);
+        buf[pos++] = ' ';
+        continue;
+      }
+      if (c == 'T' && i > 0 && i + 1 < length && isDigit(input.charAt(i - 1)) && isDigit(input.charAt(i + 1))) {
+        buf = ensureBuffer(buf, input, pos, length);
+        buf[pos++] = ' ';
+      } else if (buf != null) {
+        buf[pos++] = c;
+      } else {
+        pos++;
+      }
+      i++;
+    }
+    int start = 0;
+    int end = pos;
+    if (buf == null) {
+      while (start < end && input.charAt(start) <= ' ') {
+        start++;
+      }
+      while (start < end && input.charAt(end - 1) <= ' ') {
+        end--;
+      }
+      return start == 0 && end == length ? input : input.substring(start, end);
+    }
+    while (start < end && buf[start] <= ' ') {
+      start++;
+    }
+    while (start < end && buf[end - 1] <= ' ') {
+      end--;
+    }
+    return new String(buf, start, end - start);
+  }
+
+  private static char[] ensureBuffer(char[] buf, String input, int pos, int length) {
+    if (buf != null) {
+      return buf;
+    }
+    // Until the first change, the output is a prefix of the input.
+    char[] result = new char[length];
+    input.getChars(0, pos, result, 0);
+    return result;
+  }
+
+  private static boolean isSeparator(char c) {
+    switch (c) {
+      case ',':
+      case '/':
+      case ':':
+      case '.':
+      case '-':
+      case ' ':
+      case '\t':
+      case '\n':
+      case '\u000B':
+      case '\f':
+      case '\r':
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+}
@@ -0,0 +1,213 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import java.time.Instant;
+
+/**
+ * Parses and formats the common ISO-8601 instant representations without going through {@link java.time.format.DateTimeFormatter}.
+ * <p>
+ * Only years 0001-9999 are handled. Methods return <code>null</code> for any input they do not handle so that the caller can fall back to the generic formatter.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public final class IsoInstantCodec {
+
+  private static final long SECONDS_PER_DAY = 86400L;
+
+  private static final int DAYS_0000_TO_1970 = 719468;
+
+  private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000 };
+
+  private IsoInstantCodec() {
+    super();
+  }
+
+  /**
+   * Parses <code>yyyy-MM-ddTHH:mm:ss[.fffffffff]Z</code>. Every input this method accepts is parsed to the same instant by
+   * {@link java.time.format.DateTimeFormatter#ISO_INSTANT}, which also accepts some forms this method does not (e.g. offsets on later JDKs,
+   * leap seconds, <code>24:00:00</code>).
+   * 
+   * @return The parsed instant or <code>null</code> if the input is not in the supported form.
+   */
+  public static Instant parse(CharSequence text) {
+    int length = text.length();
+    if (length < 20) {
+      return null;
+    }
+    int year = digits(text, 0, 4);
+    int month = digits(text, 5, 2);
+    int day = digits(text, 8, 2);
+    int hour = digits(text, 11, 2);
+    int minute = digits(text, 14, 2);
+    if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+        || hour < 0 || hour > 23 || minute < 0 || minute > 59
+        || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(13) != ':'
+        || (text.charAt(10) != 'T' && text.charAt(10) != 't')) {
+      return null;
+    }
+    int second = digits(text, 17, 2);
+    if (text.charAt(16) != ':' || second < 0 || second > 59) {
+      return null;
+    }
+    int pos = 19;
+    int nano = 0;
+    if (text.charAt(pos) == '.') {
+      int start = ++pos;
+      while (pos < length && pos - start < 10 && isDigit(text.charAt(pos))) {
+        pos++;
+      }
+      int fractionLength = pos - start;
+      if (fractionLength == 0 || fractionLength > 9) {
+        return null;
+      }
+      nano = digits(text, start, fractionLength) * POWERS_OF_TEN[9 - fractionLength];
+    }
+    // Offsets are left to ISO_INSTANT, which accepts them only on some JDK versions.
+    if (pos + 1 != length || (text.charAt(pos) != 'Z' && text.charAt(pos) != 'z')) {
+      return null;
+    }
+    long epochSecond = toEpochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    return Instant.ofEpochSecond(epochSecond, nano);
+  }
+
+  /**
+   * Formats the instant in UTC as <code>yyyy-MM-dd'T'HH:mm:ss.SSSX</code>.
+   * 
+   * @return The formatted string or <code>null</code> if the year is out of the supported range.
+   */
+  public static String formatMillis(Instant instant) {
+    char[] buf = new char[24];
+    if (!appendDateTime(instant, buf)) {
+      return null;
+    }
+    buf[19] = '.';
+    appendDigits(buf, 20, instant.getNano() / 1000000, 3);
+    buf[23] = 'Z';
+    return new String(buf);
+  }
+
+  /**
+   * Formats the instant in the same way as {@link java.time.format.DateTimeFormatter#ISO_INSTANT}.
+   * 
+   * @return The formatted string or <code>null</code> if the year is out of the supported range.
+   */
+  public static String formatIso(Instant instant) {
+    int nano = instant.getNano();
+    int fractionLength;
+    if (nano == 0) {
+      fractionLength = 0;
+    } else if (nano % 1000000 == 0) {
+      fractionLength = 3;
+    } else if (nano % 1000 == 0) {
+      fractionLength = 6;
+    } else {
+      fractionLength = 9;
+    }
+    char[] buf = new char[fractionLength == 0 ? 20 : 21 + fractionLength];
+    if (!appendDateTime(instant, buf)) {
+      return null;
+    }
+    int pos = 19;
+    if (fractionLength > 0) {
+      buf[pos++] = '.';
+      appendDigits(buf, pos, nano / POWERS_OF_TEN[9 - fractionLength], fractionLength);
+      pos += fractionLength;
+    }
+    buf[pos] = 'Z';
+    return new String(buf);
+  }
+
+  private static boolean appendDateTime(Instant instant, char[] buf) {
+    long epochSecond = instant.getEpochSecond();
+    long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+    // Civil date from the epoch day ("days_from_civil" inverse by H. Hinnant).
+    long z = epochDay + DAYS_0000_TO_1970;
+    long era = Math.floorDiv(z, 146097L);
+    int dayOfEra = (int) (z - era * 146097);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int mp = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+    int month = mp < 10 ? mp + 3 : mp - 9;
+    long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+    if (year < 1 || year > 9999) {
+      return false;
+    }
+    appendDigits(buf, 0, (int) year, 4);
+    buf[4] = '-';
+    appendDigits(buf, 5, month, 2);
+    buf[7] = '-';
+    appendDigits(buf, 8, day, 2);
+    buf[10] = 'T';
+    appendDigits(buf, 11, secondOfDay / 3600, 2);
+    buf[13] = ':';
+    appendDigits(buf, 14, secondOfDay / 60 % 60, 2);
+    buf[16] = ':';
+    appendDigits(buf, 17, secondOfDay % 60, 2);
+    return true;
+  }
+
+  private static long toEpochDay(int year, int month, int day) {
+    int y = month <= 2 ? year - 1 : year;
+    int era = Math.floorDiv(y, 400);
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097L + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static void appendDigits(char[] buf, int offset, int value, int width) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      buf[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  /**
+   * @return The value of the digits or -1 if any of the characters is not an ASCII digit.
+   */
+  private static int digits(CharSequence text, int offset, int width) {
+    int value = 0;
+    for (int i = offset; i < offset + width; i++) {
+      char c = text.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+}
@@ -0,0 +1,157 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded least-recently-used cache, safe for concurrent use.
+ * <p>
+ * Keys are spread over several independently locked segments, so the eviction order is least-recently-used per segment.
+ * Entries optionally expire after a fixed time-to-live.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class LruCache<K, V> {
+
+  private static final int MAX_SEGMENTS = 16;
+
+  private final Segment<K, V>[] segments;
+
+  private final long ttlNanos;
+
+  private final LongSupplier nanoTime;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maxSize Maximum number of entries.
+   * @param ttl Time-to-live of an entry or 0 if entries do not expire.
+   */
+  public LruCache(int maxSize, long ttl, TimeUnit unit) {
+    this(maxSize, ttl, unit, System::nanoTime);
+  }
+
+  @SuppressWarnings("unchecked")
+  LruCache(int maxSize, long ttl, TimeUnit unit, LongSupplier nanoTime) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be positive but was " + maxSize);
+    }
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maxSize / 8) {
+      segmentCount *= 2;
+    }
+    this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment<>((maxSize + segmentCount - 1 - i) / segmentCount);
+    }
+    this.ttlNanos = unit.toNanos(ttl);
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * @return The cached value or <code>null</code> if there is no live entry for the key.
+   */
+  public V get(K key) {
+    Segment<K, V> segment = segmentFor(key);
+    Entry<V> entry;
+    synchronized (segment) {
+      entry = segment.get(key);
+      if (entry != null && ttlNanos > 0 && nanoTime.getAsLong() - entry.createdAt >= ttlNanos) {
+        segment.remove(key);
+        entry = null;
+      }
+    }
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.value;
+  }
+
+  public void put(K key, V value) {
+    Entry<V> entry = new Entry<>(value, ttlNanos > 0 ? nanoTime.getAsLong() : 0L);
+    Segment<K, V> segment = segmentFor(key);
+    synchronized (segment) {
+      segment.put(key, entry);
+    }
+  }
+
+  public void clear() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  private Segment<K, V> segmentFor(K key) {
+    int h = key.hashCode();
+    h ^= h >>> 16;
+    return segments[h & (segments.length - 1)];
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+
+    private final long createdAt;
+
+    Entry(V value, long createdAt) {
+      this.value = value;
+      this.createdAt = createdAt;
+    }
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    Segment(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+      return size() > capacity;
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import java.time.DateTimeException;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable per-locale lookup of full, short and numeric month names, equivalent to trying the patterns <code>MMMM</code>, <code>MMM</code> and
+ * <code>M</code> in case insensitive mode.
+ * <p>
+ * Only the names each pattern parses back to the same month are registered; names shared by different months are left out. {@link #parse(CharSequence)}
+ * returns <code>null</code> for anything else so that the caller can fall back to the formatters.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public final class MonthNames {
+
+  private static final String[] PATTERNS = { "MMMM", "MMM" };
+
+  private static final Month[] MONTHS = Month.values();
+
+  /**
+   * Maximum number of locales kept in memory. When it is reached, arbitrary instances are discarded and built again on next use.
+   */
+  public static final int CACHE_SIZE = 1024;
+
+  private static final ConcurrentMap<Locale, MonthNames> INSTANCES = new ConcurrentHashMap<>();
+
+  /**
+   * Case-folded name to the original name and month.
+   */
+  private final Map<String, Entry> names;
+
+  private MonthNames(Locale locale) {
+    Map<String, Entry> map = new HashMap<>();
+    Set<String> ambiguous = new HashSet<>();
+    for (String pattern : PATTERNS) {
+      DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(locale);
+      for (Month month : MONTHS) {
+        String name = formatter.format(month);
+        if (!parsesTo(formatter, name, month)) {
+          continue;
+        }
+        String key = fold(name);
+        Entry existing = map.putIfAbsent(key, new Entry(name, month));
+        if (existing != null && existing.month != month) {
+          ambiguous.add(key);
+        }
+      }
+    }
+    ambiguous.forEach(map::remove);
+    this.names = map;
+  }
+
+  public static MonthNames of(Locale locale) {
+    MonthNames instance = INSTANCES.get(locale);
+    if (instance == null) {
+      instance = new MonthNames(locale);
+      evictIfFull();
+      MonthNames existing = INSTANCES.putIfAbsent(locale, instance);
+      if (existing != null) {
+        instance = existing;
+      }
+    }
+    return instance;
+  }
+
+  private static void evictIfFull() {
+    Iterator<Locale> iterator = INSTANCES.keySet().iterator();
+    while (INSTANCES.size() >= CACHE_SIZE && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @return The number of instances in memory.
+   */
+  static int getInstanceCount() {
+    return INSTANCES.size();
+  }
+
+  /**
+   * @return The month whose full name, short name or number (1-12) is the entire text or <code>null</code>.
+   */
+  public Month parse(CharSequence text) {
+    int length = text.length();
+    if (length == 0) {
+      return null;
+    }
+    Entry entry = names.get(fold(text));
+    if (entry != null && equalsIgnoreCase(entry.name, text)) {
+      return entry.month;
+    }
+    if (length > 2) {
+      return null;
+    }
+    int value = 0;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return null;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value >= 1 && value <= 12 ? MONTHS[value - 1] : null;
+  }
+
+  private static boolean parsesTo(DateTimeFormatter formatter, String name, Month month) {
+    try {
+      return Month.from(formatter.parse(name)) == month;
+    } catch (DateTimeException e) {
+      return false;
+    }
+  }
+
+  private static String fold(CharSequence text) {
+    char[] chars = new char[text.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(text.charAt(i)));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Same comparison as DateTimeFormatter in case insensitive mode.
+   */
+  private static boolean equalsIgnoreCase(String name, CharSequence text) {
+    if (name.length() != text.length()) {
+      return false;
+    }
+    for (int i = 0; i < name.length(); i++) {
+      char c1 = name.charAt(i);
+      char c2 = text.charAt(i);
+      if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+          && Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class Entry {
+    private final String name;
+
+    private final Month month;
+
+    Entry(String name, Month month) {
+      this.name = name;
+      this.month = month;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.lang.reflect.Array;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import net.sourceforge.stripes.validation.ValidationError;
+
+/**
+ * Converts a column of values (e.g. of an uploaded CSV file) in parallel with a single type converter.
+ * <p>
+ * The column is split into chunks that are converted by a fork/join pool with the compiled chain of the converter, which is looked up once
+ * and only read by the workers (see {@link TemporalAccessorTypeConverter}). The converter must not be modified during the conversion.
+ * </p>
+ * <p>
+ * <code>null</code> and empty values are skipped. The field value of each error is set to the value that caused it.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class BulkConverter<T extends TemporalAccessor> {
+
+  /**
+   * Default number of rows below which a chunk is converted without further splitting.
+   */
+  public static final int DEFAULT_THRESHOLD = 1024;
+
+  private final TemporalAccessorTypeConverter<T> converter;
+
+  private final Class<T> targetType;
+
+  private final ForkJoinPool pool;
+
+  private final int threshold;
+
+  /**
+   * Uses the common pool.
+   */
+  public BulkConverter(TemporalAccessorTypeConverter<T> converter, Class<T> targetType) {
+    this(converter, targetType, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  public BulkConverter(TemporalAccessorTypeConverter<T> converter, Class<T> targetType, ForkJoinPool pool, int threshold) {
+    super();
+    this.converter = converter;
+    this.targetType = targetType;
+    this.pool = pool;
+    this.threshold = Math.max(1, threshold);
+  }
+
+  public Result<T> convert(String[] column) {
+    return convert(Arrays.spliterator(column));
+  }
+
+  /**
+   * The rows are numbered in the encounter order of the spliterator. A spliterator without {@link Spliterator#SUBSIZED} (e.g. one reading
+   * a stream) is copied into an array first, because the row numbers of a chunk are known only if the sizes of the preceding chunks are.
+   */
+  public Result<T> convert(Spliterator<? extends CharSequence> column) {
+    if (!column.hasCharacteristics(Spliterator.SUBSIZED)) {
+      List<CharSequence> rows = new ArrayList<>();
+      column.forEachRemaining(rows::add);
+      return convert(rows.spliterator());
+    }
+    int size = (int) column.getExactSizeIfKnown();
+    @SuppressWarnings("unchecked")
+    T[] values = (T[]) Array.newInstance(targetType, size);
+    @SuppressWarnings("unchecked")
+    List<ValidationError>[] errors = (List<ValidationError>[]) new List<?>[size];
+    pool.invoke(new Chunk(converter.preparePatternChain(), column, 0, values, errors));
+    SortedMap<Integer, List<ValidationError>> rowErrors = new TreeMap<>();
+    for (int row = 0; row < size; row++) {
+      if (errors[row] != null) {
+        rowErrors.put(row, errors[row]);
+      }
+    }
+    return new Result<>(values, rowErrors);
+  }
+
+  private final class Chunk extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final PatternChain chain;
+
+    private final Spliterator<? extends CharSequence> rows;
+
+    private final int offset;
+
+    private final T[] values;
+
+    private final List<ValidationError>[] errors;
+
+    Chunk(PatternChain chain, Spliterator<? extends CharSequence> rows, int offset, T[] values, List<ValidationError>[] errors) {
+      this.chain = chain;
+      this.rows = rows;
+      this.offset = offset;
+      this.values = values;
+      this.errors = errors;
+    }
+
+    @Override
+    protected void compute() {
+      Spliterator<? extends CharSequence> prefix;
+      if (rows.estimateSize() > threshold && (prefix = rows.trySplit()) != null) {
+        Chunk first = new Chunk(chain, prefix, offset, values, errors);
+        Chunk rest = new Chunk(chain, rows, offset + (int) prefix.estimateSize(), values, errors);
+        invokeAll(first, rest);
+        return;
+      }
+      // Batch view per chunk, so that the pattern that matched the previous row is tried first in adaptive mode.
+      PatternChain batch = chain.forBatch();
+      List<ValidationError> rowErrors = new ArrayList<>();
+      int[] row = { offset };
+      rows.forEachRemaining(value -> {
+        int index = row[0]++;
+        if (value == null || value.length() == 0) {
+          return;
+        }
+        String input = value.toString();
+        values[index] = converter.convert(batch, input, rowErrors);
+        if (!rowErrors.isEmpty()) {
+          for (ValidationError error : rowErrors) {
+            error.setFieldValue(input);
+          }
+          errors[index] = new ArrayList<>(rowErrors);
+          rowErrors.clear();
+        }
+      });
+    }
+  }
+
+  /**
+   * Converted values and errors of a column.
+   */
+  public static class Result<T> {
+    private final T[] values;
+
+    private final SortedMap<Integer, List<ValidationError>> errors;
+
+    Result(T[] values, SortedMap<Integer, List<ValidationError>> errors) {
+      this.values = values;
+      this.errors = Collections.unmodifiableSortedMap(errors);
+    }
+
+    /**
+     * @return The converted values by row, <code>null</code> for the rows that were skipped or could not be converted.
+     */
+    public T[] getValues() {
+      return values;
+    }
+
+    /**
+     * @return The errors keyed by the (zero-based) row index, in ascending order.
+     */
+    public SortedMap<Integer, List<ValidationError>> getErrors() {
+      return errors;
+    }
+
+    public boolean hasErrors() {
+      return !errors.isEmpty();
+    }
+  }
+}
@@ -15,60 +15,50 @@ package net.harawata.stripes.jsr310.validation;
 
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
+import net.harawata.stripes.jsr310.util.IsoInstantCodec;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class InstantTypeConverter extends TemporalAccessorTypeConverter<Instant> {
 
-  private static final Log LOG = Log.getInstance(InstantTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.instantTypeConverter.patterns";
 
   @Override
-  public Instant convert(String input, Class<? extends Instant> targetType, Collection<ValidationError> errors) {
-    prepareInputPatterns();
-    return parse(input.trim(), errors);
+  protected Instant convert(PatternChain chain, String input, Collection<ValidationError> errors) {
+    return parseMemoized(chain, input.trim(), errors);
+  }
+
+  @Override
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
   }
 
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
-      // No user defined patterns.
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
     }
   }
 
   @Override
-  protected Instant parse(String input, Collection<ValidationError> errors) {
-    if (patterns.isEmpty()) {
-      try {
-        return Instant.parse(input);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", input, "'. ", e.getMessage());
+  protected Instant parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    Instant result;
+    if (chain.isEmpty()) {
+      result = IsoInstantCodec.parse(input);
+      if (result == null) {
+        result = PatternChain.parse(input, DateTimeFormatter.ISO_INSTANT, Instant::from);
       }
     } else {
-      for (String pattern : patterns) {
-        try {
-          DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-              .parseCaseInsensitive()
-              .appendPattern(pattern)
-              .toFormatter(locale);
-          return formatter.parse(input, Instant::from);
-        } catch (DateTimeParseException e) {
-          LOG.debug("Could not parse '", input, "' using pattern '", pattern, "'. ", e.getMessage());
-        }
-      }
+      result = chain.parse(input, Instant::from);
+    }
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.instant", "invalidInput"));
     }
-    errors.add(new ScopedLocalizableError("converter.instant", "invalidInput"));
-    return null;
+    return result;
   }
 
 }
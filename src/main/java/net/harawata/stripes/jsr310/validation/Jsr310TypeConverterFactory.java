@@ -0,0 +1,82 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.validation.DefaultTypeConverterFactory;
+import net.sourceforge.stripes.validation.TypeConverter;
+
+/**
+ * Type converter factory that registers all the type converters of this library.
+ * <p>
+ * The registered converters are instantiated with their constructors instead of Stripes' ObjectFactory. They are light-weight because the compiled patterns are shared by all instances (see {@link PatternChain}). They are also thread-safe, so a subclass may return a cached instance per locale.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class Jsr310TypeConverterFactory extends DefaultTypeConverterFactory {
+
+  private final Map<Class<?>, Supplier<? extends TypeConverter<?>>> constructors = new ConcurrentHashMap<>();
+
+  @Override
+  public void init(Configuration configuration) {
+    super.init(configuration);
+    add(LocalDate.class, LocalDateTypeConverter.class, LocalDateTypeConverter::new);
+    add(LocalTime.class, LocalTimeTypeConverter.class, LocalTimeTypeConverter::new);
+    add(LocalDateTime.class, LocalDateTimeTypeConverter.class, LocalDateTimeTypeConverter::new);
+    add(Instant.class, InstantTypeConverter.class, InstantTypeConverter::new);
+    add(Month.class, MonthTypeConverter.class, MonthTypeConverter::new);
+    add(YearMonth.class, YearMonthTypeConverter.class, YearMonthTypeConverter::new);
+    add(Year.class, YearTypeConverter.class, YearTypeConverter::new);
+    add(OffsetDateTime.class, OffsetDateTimeTypeConverter.class, OffsetDateTimeTypeConverter::new);
+    add(OffsetTime.class, OffsetTimeTypeConverter.class, OffsetTimeTypeConverter::new);
+    add(ZonedDateTime.class, ZonedDateTimeTypeConverter.class, ZonedDateTimeTypeConverter::new);
+  }
+
+  /**
+   * Registers a type converter that is instantiated with the given constructor.
+   */
+  public <T, C extends TypeConverter<T>> void add(Class<T> targetType, Class<C> converterClass, Supplier<C> constructor) {
+    add(targetType, converterClass);
+    constructors.put(converterClass, constructor);
+  }
+
+  @Override
+  @SuppressWarnings("rawtypes")
+  public TypeConverter getInstance(Class<? extends TypeConverter> clazz, Locale locale) throws Exception {
+    Supplier<? extends TypeConverter<?>> constructor = constructors.get(clazz);
+    if (constructor == null) {
+      return super.getInstance(clazz, locale);
+    }
+    TypeConverter<?> converter = constructor.get();
+    converter.setLocale(locale);
+    return converter;
+  }
+
+}
@@ -14,50 +14,46 @@
 package net.harawata.stripes.jsr310.validation;
 
 import java.time.LocalDate;
-import java.time.chrono.Chronology;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.time.format.FormatStyle;
-import java.time.temporal.ChronoField;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class LocalDateTypeConverter extends TemporalAccessorTypeConverter<LocalDate> {
 
-  private static final Log LOG = Log.getInstance(LocalDateTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.localDateTypeConverter.patterns";
 
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
+  }
+
+  @Override
+  protected int getDefaultYear() {
+    return getCurrentYearProvider().getYear();
+  }
+
+  @Override
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
+    } else {
       // No user defined patterns.
       Stream.of(FormatStyle.class.getEnumConstants()).forEach(style -> {
-        patterns.add(normalizePattern(DateTimeFormatterBuilder.getLocalizedDateTimePattern(style, null, Chronology.ofLocale(locale), locale)));
+        patterns.add(getLocalizedPattern(style, null));
       });
     }
   }
 
-  protected LocalDate parse(String input, Collection<ValidationError> errors) {
-    String parseable = preProcessInput(input);
-    for (String pattern : patterns) {
-      DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).parseDefaulting(ChronoField.YEAR_OF_ERA, LocalDate.now().getYear()).toFormatter(locale);
-      try {
-        return LocalDate.parse(parseable, formatter);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", parseable, "' using pattern '", pattern, "'. ", e.getMessage());
-      }
+  protected LocalDate parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    LocalDate result = chain.parse(preProcessInput(chain, input), LocalDate::from);
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.localDate", "invalidInput"));
     }
-    errors.add(new ScopedLocalizableError("converter.localDate", "invalidInput"));
-    return null;
+    return result;
   }
 
 }
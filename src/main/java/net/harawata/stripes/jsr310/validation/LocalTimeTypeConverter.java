@@ -14,49 +14,41 @@
 package net.harawata.stripes.jsr310.validation;
 
 import java.time.LocalTime;
-import java.time.chrono.Chronology;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.time.format.FormatStyle;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class LocalTimeTypeConverter extends TemporalAccessorTypeConverter<LocalTime> {
 
-  private static final Log LOG = Log.getInstance(LocalTimeTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.localTimeTypeConverter.patterns";
 
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
+  }
+
+  @Override
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
+    } else {
       // No user defined patterns.
       Stream.of(FormatStyle.class.getEnumConstants()).forEach(style -> {
-        patterns.add(normalizePattern(DateTimeFormatterBuilder.getLocalizedDateTimePattern(null, style, Chronology.ofLocale(locale), locale)));
+        patterns.add(getLocalizedPattern(null, style));
       });
     }
   }
 
-  protected LocalTime parse(String input, Collection<ValidationError> errors) {
-    String parseable = preProcessInput(input);
-    for (String pattern : patterns) {
-      DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(locale);
-      try {
-        return LocalTime.parse(parseable, formatter);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", parseable, "' using pattern '", pattern, "'. ", e.getMessage());
-      }
+  protected LocalTime parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    LocalTime result = chain.parse(preProcessInput(chain, input), LocalTime::from);
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.localTime", "invalidInput"));
     }
-    errors.add(new ScopedLocalizableError("converter.localTime", "invalidInput"));
-    return null;
+    return result;
   }
 
 }
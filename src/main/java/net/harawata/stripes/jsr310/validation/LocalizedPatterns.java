@@ -0,0 +1,368 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.chrono.Chronology;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import net.sourceforge.stripes.util.Log;
+
+/**
+ * Localized date/time patterns of {@link DateTimeFormatterBuilder#getLocalizedDateTimePattern(FormatStyle, FormatStyle, Chronology, Locale)},
+ * as is and normalized for the type converters, optionally read from a table precomputed at build time.
+ * <p>
+ * The table is generated by {@link #main(String[])} (see the <code>precompute-patterns</code> profile) for all the available locales and is
+ * loaded from {@value #RESOURCE} on first use. The locale data changes with the Java release and the locale providers, so the table is used
+ * only if it was generated with the same <code>java.specification.version</code> and <code>java.locale.providers</code> as the running JVM,
+ * and only if its entries for {@link Locale#US} match the JDK. Otherwise, and for the locales not in the table, the patterns are obtained from
+ * the JDK.
+ * </p>
+ * <p>
+ * Locales are looked up by equality. A locale whose language tag does not convert back to the same locale (e.g. <code>no_NO_NY</code>, whose
+ * tag is the one of <code>nn_NO</code>) is not written to the table.
+ * </p>
+ * <p>
+ * With the system property {@value #VERIFY_PROPERTY} set to <code>true</code>, each pattern read from the table is compared with the one
+ * obtained from the JDK and the latter is used on mismatch. <code>main("--verify")</code> compares the entire table.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public final class LocalizedPatterns {
+
+  public static final String RESOURCE = "META-INF/stripes-jsr310/localized-patterns.bin";
+
+  public static final String VERIFY_PROPERTY = "stripes.jsr310.verifyLocalizedPatterns";
+
+  private static final Log LOG = Log.getInstance(LocalizedPatterns.class);
+
+  private static final int MAGIC = 0x4a333131;
+
+  private static final FormatStyle[] STYLES = FormatStyle.values();
+
+  /**
+   * Date only, time only, then date and time.
+   */
+  private static final int STYLE_COMBINATIONS = STYLES.length * (2 + STYLES.length);
+
+  /**
+   * The patterns as is, then normalized.
+   */
+  private static final int ENTRIES_PER_LOCALE = STYLE_COMBINATIONS * 2;
+
+  private static final int MISSING = 0xFFFF;
+
+  private static final boolean VERIFY = Boolean.getBoolean(VERIFY_PROPERTY);
+
+  private LocalizedPatterns() {
+    super();
+  }
+
+  /**
+   * @return The same pattern as {@link DateTimeFormatterBuilder#getLocalizedDateTimePattern(FormatStyle, FormatStyle, Chronology, Locale)}
+   *         with the chronology of the locale.
+   */
+  public static String get(FormatStyle dateStyle, FormatStyle timeStyle, Locale locale) {
+    return get(index(dateStyle, timeStyle), locale);
+  }
+
+  /**
+   * @return The pattern of {@link #get(FormatStyle, FormatStyle, Locale)} normalized by {@link #normalize(String)}.
+   */
+  public static String getNormalized(FormatStyle dateStyle, FormatStyle timeStyle, Locale locale) {
+    return get(STYLE_COMBINATIONS + index(dateStyle, timeStyle), locale);
+  }
+
+  /**
+   * The default normalization of {@link TemporalAccessorTypeConverter#normalizePattern(String)}: the separators and literals are replaced
+   * with a single space.
+   */
+  public static String normalize(String pattern) {
+    return TemporalAccessorTypeConverter.PATTERN_NORMALIZATION_PATTERN.matcher(pattern).replaceAll(" ").trim();
+  }
+
+  private static String get(int index, Locale locale) {
+    Table table = TableHolder.TABLE;
+    String pattern = table == null ? null : table.get(locale, index);
+    if (pattern == null) {
+      return live(index, locale);
+    }
+    if (VERIFY) {
+      String live = live(index, locale);
+      if (!live.equals(pattern)) {
+        LOG.warn("The precomputed pattern for ", locale, " (", dateStyle(index), ", ", timeStyle(index), ") is '", pattern,
+            "', but the JDK returns '", live, "'.");
+        return live;
+      }
+    }
+    return pattern;
+  }
+
+  /**
+   * Compares the entire table in the classpath with the patterns obtained from the JDK, regardless of the locale data it was generated with.
+   * 
+   * @return Descriptions of the mismatching entries.
+   * @throws IOException If the table is not found or cannot be read.
+   */
+  public static List<String> verify() throws IOException {
+    try (InputStream in = openResource()) {
+      if (in == null) {
+        throw new IOException(RESOURCE + " is not found.");
+      }
+      return verify(read(in, false));
+    }
+  }
+
+  static List<String> verify(Table table) {
+    List<String> mismatches = new ArrayList<>();
+    if (!table.localeData.equals(localeData())) {
+      mismatches.add("Generated with " + table.localeData + ", running on " + localeData());
+    }
+    for (Locale locale : table.offsets.keySet()) {
+      verify(table, locale, mismatches);
+    }
+    return mismatches;
+  }
+
+  private static void verify(Table table, Locale locale, List<String> mismatches) {
+    for (int i = 0; i < ENTRIES_PER_LOCALE; i++) {
+      String pattern = table.get(locale, i);
+      String live = live(i, locale);
+      if (pattern != null && !pattern.equals(live)) {
+        mismatches.add(locale + " (" + dateStyle(i) + ", " + timeStyle(i) + (i < STYLE_COMBINATIONS ? "" : ", normalized") + "): '" + pattern
+            + "' != '" + live + "'");
+      }
+    }
+  }
+
+  /**
+   * Writes the table of all the available locales to the directory given as the first argument, or verifies the table in the classpath if
+   * the argument is <code>--verify</code>.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1) {
+      System.err.println("Usage: LocalizedPatterns <output directory> | --verify");
+      System.exit(2);
+    }
+    if ("--verify".equals(args[0])) {
+      List<String> mismatches = verify();
+      mismatches.forEach(System.err::println);
+      System.exit(mismatches.isEmpty() ? 0 : 1);
+    }
+    File file = new File(args[0], RESOURCE);
+    if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+      throw new IOException("Could not create " + file.getParent());
+    }
+    try (OutputStream out = new FileOutputStream(file)) {
+      write(out, Arrays.asList(Locale.getAvailableLocales()));
+    }
+  }
+
+  /**
+   * Format: magic, locale data, pool of distinct patterns, then the language tag and the pool indices of each locale.
+   */
+  static void write(OutputStream out, Collection<Locale> locales) throws IOException {
+    Map<String, Integer> pool = new LinkedHashMap<>();
+    Map<String, int[]> indices = new LinkedHashMap<>();
+    for (Locale locale : locales) {
+      String tag = locale.toLanguageTag();
+      if (!Locale.forLanguageTag(tag).equals(locale)) {
+        // Could not be looked up.
+        continue;
+      }
+      int[] entries = new int[ENTRIES_PER_LOCALE];
+      for (int i = 0; i < ENTRIES_PER_LOCALE; i++) {
+        String pattern;
+        try {
+          pattern = live(i, locale);
+        } catch (RuntimeException e) {
+          pattern = null;
+        }
+        if (pattern == null || (!pool.containsKey(pattern) && pool.size() >= MISSING)) {
+          entries[i] = MISSING;
+        } else {
+          entries[i] = pool.computeIfAbsent(pattern, p -> pool.size());
+        }
+      }
+      indices.put(tag, entries);
+    }
+    DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+    data.writeInt(MAGIC);
+    data.writeUTF(localeData());
+    data.writeShort(pool.size());
+    for (String pattern : pool.keySet()) {
+      data.writeUTF(pattern);
+    }
+    data.writeInt(indices.size());
+    for (Map.Entry<String, int[]> entry : indices.entrySet()) {
+      data.writeUTF(entry.getKey());
+      for (int index : entry.getValue()) {
+        data.writeShort(index);
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * @param checkLocaleData Whether to return <code>null</code> if the table was generated with different locale data.
+   */
+  static Table read(InputStream in, boolean checkLocaleData) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a pattern table.");
+    }
+    String localeData = data.readUTF();
+    if (checkLocaleData && !localeData.equals(localeData())) {
+      LOG.debug("Ignoring the pattern table generated with ", localeData, ".");
+      return null;
+    }
+    String[] pool = new String[data.readUnsignedShort()];
+    for (int i = 0; i < pool.length; i++) {
+      pool[i] = data.readUTF();
+    }
+    int localeCount = data.readInt();
+    Map<Locale, Integer> offsets = new HashMap<>();
+    char[] indices = new char[localeCount * ENTRIES_PER_LOCALE];
+    for (int i = 0; i < localeCount; i++) {
+      offsets.put(Locale.forLanguageTag(data.readUTF()), i * ENTRIES_PER_LOCALE);
+      for (int j = 0; j < ENTRIES_PER_LOCALE; j++) {
+        indices[i * ENTRIES_PER_LOCALE + j] = data.readChar();
+      }
+    }
+    Table table = new Table(localeData, pool, offsets, indices);
+    if (checkLocaleData) {
+      // The locale data may still differ between updates of the same release.
+      List<String> mismatches = new ArrayList<>();
+      verify(table, Locale.US, mismatches);
+      if (!mismatches.isEmpty()) {
+        LOG.warn("Ignoring the pattern table that does not match the locale data of the JDK: ", mismatches.get(0));
+        return null;
+      }
+    }
+    return table;
+  }
+
+  /**
+   * @return The properties of the runtime that determine the localized patterns.
+   */
+  static String localeData() {
+    return System.getProperty("java.specification.version") + ';' + System.getProperty("java.locale.providers", "");
+  }
+
+  private static String live(int index, Locale locale) {
+    String pattern = live(dateStyle(index), timeStyle(index), locale);
+    return index < STYLE_COMBINATIONS ? pattern : normalize(pattern);
+  }
+
+  private static String live(FormatStyle dateStyle, FormatStyle timeStyle, Locale locale) {
+    return DateTimeFormatterBuilder.getLocalizedDateTimePattern(dateStyle, timeStyle, Chronology.ofLocale(locale), locale);
+  }
+
+  private static int index(FormatStyle dateStyle, FormatStyle timeStyle) {
+    if (timeStyle == null) {
+      return dateStyle.ordinal();
+    } else if (dateStyle == null) {
+      return STYLES.length + timeStyle.ordinal();
+    }
+    return STYLES.length * 2 + dateStyle.ordinal() * STYLES.length + timeStyle.ordinal();
+  }
+
+  private static FormatStyle dateStyle(int index) {
+    index %= STYLE_COMBINATIONS;
+    if (index < STYLES.length) {
+      return STYLES[index];
+    }
+    return index < STYLES.length * 2 ? null : STYLES[(index - STYLES.length * 2) / STYLES.length];
+  }
+
+  private static FormatStyle timeStyle(int index) {
+    index %= STYLE_COMBINATIONS;
+    if (index < STYLES.length) {
+      return null;
+    }
+    return index < STYLES.length * 2 ? STYLES[index - STYLES.length] : STYLES[(index - STYLES.length * 2) % STYLES.length];
+  }
+
+  private static InputStream openResource() {
+    ClassLoader loader = LocalizedPatterns.class.getClassLoader();
+    return loader == null ? ClassLoader.getSystemResourceAsStream(RESOURCE) : loader.getResourceAsStream(RESOURCE);
+  }
+
+  private static Table load() {
+    try (InputStream in = openResource()) {
+      return in == null ? null : read(in, true);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn(e, "Failed to read ", RESOURCE, ".");
+      return null;
+    }
+  }
+
+  static final class Table {
+    private final String localeData;
+
+    private final String[] pool;
+
+    private final Map<Locale, Integer> offsets;
+
+    private final char[] indices;
+
+    Table(String localeData, String[] pool, Map<Locale, Integer> offsets, char[] indices) {
+      this.localeData = localeData;
+      this.pool = pool;
+      this.offsets = offsets;
+      this.indices = indices;
+    }
+
+    /**
+     * @return The pattern or <code>null</code> if it is not in the table.
+     */
+    String get(Locale locale, int index) {
+      Integer offset = offsets.get(locale);
+      if (offset == null) {
+        return null;
+      }
+      int poolIndex = indices[offset + index];
+      return poolIndex == MISSING ? null : pool[poolIndex];
+    }
+
+    String getLocaleData() {
+      return localeData;
+    }
+  }
+
+  /**
+   * Loads the table on first use.
+   */
+  private static final class TableHolder {
+    static final Table TABLE = load();
+  }
+}
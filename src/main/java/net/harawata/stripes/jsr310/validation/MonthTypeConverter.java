@@ -14,45 +14,52 @@
 package net.harawata.stripes.jsr310.validation;
 
 import java.time.Month;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
+import net.harawata.stripes.jsr310.util.MonthNames;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class MonthTypeConverter extends TemporalAccessorTypeConverter<Month> {
 
-  private static final Log LOG = Log.getInstance(MonthTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.MonthTypeConverter.patterns";
 
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
+  }
+
+  @Override
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
+    } else {
       // No user defined patterns.
       Stream.of("MMMM", "MMM", "M").forEach(patterns::add);
     }
   }
 
-  protected Month parse(String input, Collection<ValidationError> errors) {
-    String parseable = preProcessInput(input);
-    for (String pattern : patterns) {
-      DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(locale);
-      try {
-        return formatter.parse(parseable, Month::from);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", parseable, "' using pattern '", pattern, "'. ", e.getMessage());
-      }
+  protected Month parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    String text = preProcessInput(chain, input);
+    MonthNames monthNames = getMonthNames();
+    Month result = monthNames == null ? null : monthNames.parse(text);
+    if (result != null) {
+      return result;
     }
-    errors.add(new ScopedLocalizableError("converter.month", "invalidInput"));
-    return null;
+    result = chain.parse(text, Month::from);
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.month", "invalidInput"));
+    }
+    return result;
+  }
+
+  /**
+   * @return Lookup equivalent to the default patterns or <code>null</code> if custom patterns are specified.
+   */
+  protected MonthNames getMonthNames() {
+    return getOptionalResourceString(KEY_PATTERNS) == null ? MonthNames.of(locale) : null;
   }
 
 }
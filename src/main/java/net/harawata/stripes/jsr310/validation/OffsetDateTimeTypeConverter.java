@@ -15,60 +15,46 @@ package net.harawata.stripes.jsr310.validation;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class OffsetDateTimeTypeConverter extends TemporalAccessorTypeConverter<OffsetDateTime> {
 
-  private static final Log LOG = Log.getInstance(OffsetDateTimeTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.offsetDateTimeTypeConverter.patterns";
 
   @Override
-  public OffsetDateTime convert(String input, Class<? extends OffsetDateTime> targetType, Collection<ValidationError> errors) {
-    prepareInputPatterns();
-    return parse(input.trim(), errors);
+  protected OffsetDateTime convert(PatternChain chain, String input, Collection<ValidationError> errors) {
+    return parseMemoized(chain, input.trim(), errors);
   }
 
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
-      // No user defined patterns.
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
+  }
+
+  @Override
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
     }
   }
 
   @Override
-  protected OffsetDateTime parse(String input, Collection<ValidationError> errors) {
-    if (patterns.isEmpty()) {
-      try {
-        return OffsetDateTime.parse(input);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", input, "'. ", e.getMessage());
-      }
+  protected OffsetDateTime parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    OffsetDateTime result;
+    if (chain.isEmpty()) {
+      result = PatternChain.parse(input, DateTimeFormatter.ISO_OFFSET_DATE_TIME, OffsetDateTime::from);
     } else {
-      for (String pattern : patterns) {
-        try {
-          DateTimeFormatter formatter = new DateTimeFormatterBuilder()
-              .parseCaseInsensitive()
-              .appendPattern(pattern)
-              .toFormatter(locale);
-          return formatter.parse(input, OffsetDateTime::from);
-        } catch (DateTimeParseException e) {
-          LOG.debug("Could not parse '", input, "' using pattern '", pattern, "'. ", e.getMessage());
-        }
-      }
+      result = chain.parse(input, OffsetDateTime::from);
+    }
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.offsetDateTime", "invalidInput"));
     }
-    errors.add(new ScopedLocalizableError("converter.offsetDateTime", "invalidInput"));
-    return null;
+    return result;
   }
 
 }
@@ -0,0 +1,156 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.time.DateTimeException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import net.sourceforge.stripes.util.Log;
+
+/**
+ * Debug log of the inputs a {@link PatternChain} could not parse.
+ * <p>
+ * When debug logging is disabled, the methods return without allocating anything. Otherwise each failure becomes an event that is rendered only
+ * when the logger writes it, and at most {@link #DEFAULT_EVENTS_PER_SECOND} events are written per second; the number of the dropped events is
+ * reported with the next event written.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+final class ParseDiagnostics {
+
+  static final int DEFAULT_EVENTS_PER_SECOND = 20;
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
+  private final Log log;
+
+  private final int eventsPerSecond;
+
+  private final LongSupplier nanoTime;
+
+  private final AtomicLong windowStart;
+
+  private final AtomicInteger permits;
+
+  private final LongAdder suppressed = new LongAdder();
+
+  ParseDiagnostics(Log log) {
+    this(log, DEFAULT_EVENTS_PER_SECOND, System::nanoTime);
+  }
+
+  ParseDiagnostics(Log log, int eventsPerSecond, LongSupplier nanoTime) {
+    this.log = log;
+    this.eventsPerSecond = eventsPerSecond;
+    this.nanoTime = nanoTime;
+    this.windowStart = new AtomicLong(nanoTime.getAsLong());
+    this.permits = new AtomicInteger(eventsPerSecond);
+  }
+
+  boolean isEnabled() {
+    return log.getRealLog().isDebugEnabled();
+  }
+
+  void tooLong(CharSequence text, int maxLength) {
+    if (isEnabled() && tryAcquire()) {
+      log.getRealLog().debug(new Event(Event.TOO_LONG, text, null, maxLength, null, suppressed.sumThenReset()));
+    }
+  }
+
+  void couldNotParse(CharSequence text, Object pattern, int index) {
+    if (isEnabled() && tryAcquire()) {
+      log.getRealLog().debug(new Event(Event.NOT_PARSED, text, pattern, index, null, suppressed.sumThenReset()));
+    }
+  }
+
+  void couldNotResolve(CharSequence text, Object pattern, DateTimeException cause) {
+    if (isEnabled() && tryAcquire()) {
+      log.getRealLog().debug(new Event(Event.NOT_RESOLVED, text, pattern, -1, cause, suppressed.sumThenReset()));
+    }
+  }
+
+  /**
+   * @return <code>false</code> if the limit of the current one second window has been reached.
+   */
+  private boolean tryAcquire() {
+    long now = nanoTime.getAsLong();
+    long start = windowStart.get();
+    if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+      permits.set(eventsPerSecond);
+    }
+    if (permits.get() > 0 && permits.getAndDecrement() > 0) {
+      return true;
+    }
+    suppressed.increment();
+    return false;
+  }
+
+  /**
+   * A single failure, rendered by {@link #toString()}.
+   */
+  static final class Event {
+    static final int TOO_LONG = 0;
+
+    static final int NOT_PARSED = 1;
+
+    static final int NOT_RESOLVED = 2;
+
+    private final int kind;
+
+    private final String text;
+
+    private final Object pattern;
+
+    private final int value;
+
+    private final DateTimeException cause;
+
+    private final long suppressed;
+
+    Event(int kind, CharSequence text, Object pattern, int value, DateTimeException cause, long suppressed) {
+      this.kind = kind;
+      this.text = text.toString();
+      this.pattern = pattern;
+      this.value = value;
+      this.cause = cause;
+      this.suppressed = suppressed;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder();
+      switch (kind) {
+        case TOO_LONG:
+          buf.append("Input is longer than any pattern may match: ").append(text.length()).append(" > ").append(value).append('.');
+          break;
+        case NOT_PARSED:
+          buf.append("Could not parse '").append(text).append("' using pattern '").append(pattern).append("' at index ").append(value)
+              .append('.');
+          break;
+        default:
+          buf.append("Could not resolve '").append(text).append("' using pattern '").append(pattern).append("'. ")
+              .append(cause.getMessage());
+          break;
+      }
+      if (suppressed > 0L) {
+        buf.append(" (").append(suppressed).append(" similar messages suppressed)");
+      }
+      return buf.toString();
+    }
+  }
+}
@@ -0,0 +1,333 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.text.Format;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.regex.Pattern;
+
+import net.harawata.stripes.jsr310.util.LruCache;
+import net.sourceforge.stripes.util.Log;
+
+/**
+ * Immutable list of input patterns and their pre-built formatters, in the order they should be tried.
+ * <p>
+ * In adaptive mode, the chain counts how often each pattern matches and periodically moves the most frequently matching patterns to the front.
+ * An input accepted by only one pattern always yields the same result, but an input accepted by several patterns may be parsed with a different one after reordering.
+ * </p>
+ * <p>
+ * The patterns are merged into a {@link PatternTrie} over the non-digit gaps a matching input must contain (see {@link PatternShape}).
+ * The input is scanned once and only the patterns the trie cannot rule out are parsed, in order. This assumes that the formatter built for a
+ * pattern accepts the same inputs as {@link java.time.format.DateTimeFormatterBuilder#appendPattern(String)}, optionally with default values.
+ * Inputs longer than the longest possible match are rejected without parsing for the same reason.
+ * </p>
+ * <p>
+ * A batch view obtained by {@link #forBatch()} shares everything with this chain and, in adaptive mode, tries the pattern that matched the
+ * previous input of the batch first. Unlike the chain, the view is meant to be used by a single thread.
+ * </p>
+ * <p>
+ * The optional cache of invalid inputs assumes that the chain is always parsed with the same query, as the type converters do.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+public class PatternChain {
+
+  private static final ParseDiagnostics DIAGNOSTICS = new ParseDiagnostics(Log.getInstance(PatternChain.class));
+
+  /**
+   * Number of matches between two reorderings in adaptive mode.
+   */
+  static final int REORDER_INTERVAL = 256;
+
+  private final Pattern preProcessPattern;
+
+  private final String[] patterns;
+
+  private final DateTimeFormatter[] formatters;
+
+  private final PatternTrie trie;
+
+  private final AtomicLongArray hits;
+
+  private final AtomicInteger matches;
+
+  private volatile int[] order;
+
+  private final LruCache<String, TemporalAccessor> memo;
+
+  private final LruCache<String, Boolean> invalidInputs;
+
+  private final int maxLength;
+
+  /**
+   * The chain that holds the hit counts and the order: <code>this</code> unless this is a batch view.
+   */
+  private final PatternChain shared;
+
+  /**
+   * Index of the pattern that matched the previous input in adaptive mode or -1. Only updated by the batch views.
+   */
+  private int lastMatch = -1;
+
+  /**
+   * The formatters converted by {@link DateTimeFormatter#toFormat(TemporalQuery)} for the query the chain was last parsed with. Only the
+   * field of the shared chain is used.
+   */
+  private volatile Formats formats;
+
+  public PatternChain(Pattern preProcessPattern, Collection<String> patterns, Function<String, DateTimeFormatter> formatterBuilder) {
+    this(preProcessPattern, patterns, formatterBuilder, false);
+  }
+
+  public PatternChain(Pattern preProcessPattern, Collection<String> patterns, Function<String, DateTimeFormatter> formatterBuilder, boolean adaptive) {
+    this(preProcessPattern, patterns, formatterBuilder, adaptive, null, null);
+  }
+
+  /**
+   * @param memo Cache of the values converted by the type converter that uses this chain or <code>null</code>.
+   * @param invalidInputs Cache of the inputs no pattern matches or <code>null</code>.
+   */
+  public PatternChain(Pattern preProcessPattern, Collection<String> patterns, Function<String, DateTimeFormatter> formatterBuilder, boolean adaptive,
+      LruCache<String, TemporalAccessor> memo, LruCache<String, Boolean> invalidInputs) {
+    this.memo = memo;
+    this.invalidInputs = invalidInputs;
+    this.preProcessPattern = preProcessPattern;
+    this.patterns = patterns.toArray(new String[patterns.size()]);
+    this.formatters = new DateTimeFormatter[this.patterns.length];
+    PatternShape.Gap[][] gaps = new PatternShape.Gap[this.patterns.length][];
+    int max = 0;
+    for (int i = 0; i < this.patterns.length; i++) {
+      formatters[i] = formatterBuilder.apply(this.patterns[i]);
+      gaps[i] = PatternShape.gaps(this.patterns[i], formatters[i].getLocale());
+      max = Math.max(max, PatternShape.maxLength(this.patterns[i], formatters[i].getLocale()));
+    }
+    this.maxLength = max;
+    this.trie = new PatternTrie(gaps);
+    this.hits = adaptive ? new AtomicLongArray(this.patterns.length) : null;
+    this.matches = adaptive ? new AtomicInteger() : null;
+    this.order = IntStream.range(0, this.patterns.length).toArray();
+    this.shared = this;
+  }
+
+  private PatternChain(PatternChain shared) {
+    this.memo = shared.memo;
+    this.invalidInputs = shared.invalidInputs;
+    this.preProcessPattern = shared.preProcessPattern;
+    this.patterns = shared.patterns;
+    this.formatters = shared.formatters;
+    this.maxLength = shared.maxLength;
+    this.trie = shared.trie;
+    this.hits = shared.hits;
+    this.matches = shared.matches;
+    this.shared = shared;
+  }
+
+  /**
+   * @return A view of this chain for parsing a batch of inputs on the current thread.
+   */
+  public PatternChain forBatch() {
+    return new PatternChain(shared);
+  }
+
+  public Pattern getPreProcessPattern() {
+    return preProcessPattern;
+  }
+
+  public int size() {
+    return patterns.length;
+  }
+
+  public boolean isAdaptive() {
+    return hits != null;
+  }
+
+  public boolean isEmpty() {
+    return patterns.length == 0;
+  }
+
+  /**
+   * @return Cache of converted values keyed by input or <code>null</code> if it is disabled.
+   */
+  public LruCache<String, TemporalAccessor> getMemo() {
+    return memo;
+  }
+
+  /**
+   * @return Cache of the inputs no pattern matches or <code>null</code> if it is disabled.
+   */
+  public LruCache<String, Boolean> getInvalidInputs() {
+    return invalidInputs;
+  }
+
+  /**
+   * @return The maximum length of an input any pattern may match or {@link Integer#MAX_VALUE} if it is not bounded.
+   */
+  int getMaxLength() {
+    return maxLength;
+  }
+
+  public String getPattern(int index) {
+    return patterns[index];
+  }
+
+  public DateTimeFormatter getFormatter(int index) {
+    return formatters[index];
+  }
+
+  /**
+   * @return The number of digit runs an input must contain to match the pattern or {@link PatternShape#ANY}.
+   */
+  int getShape(int index) {
+    return trie.getShape(index);
+  }
+
+  /**
+   * Tries the patterns in order and returns the value obtained from the first one that matches the entire input.
+   * 
+   * @return The parsed value or <code>null</code> if no pattern matches.
+   */
+  public <R> R parse(CharSequence text, TemporalQuery<R> query) {
+    if (text.length() > maxLength) {
+      DIAGNOSTICS.tooLong(text, maxLength);
+      return null;
+    }
+    String key = invalidInputs == null ? null : text.toString();
+    if (key != null && invalidInputs.get(key) != null) {
+      return null;
+    }
+    boolean[] candidates = trie.match(text);
+    int previous = lastMatch;
+    if (previous >= 0 && candidates[previous]) {
+      // Any order is acceptable in adaptive mode, and the inputs of a batch tend to share the pattern.
+      R result = parse(text, format(previous, query), formatters[previous], query, patterns[previous]);
+      if (result != null) {
+        shared.recordHit(previous);
+        return result;
+      }
+    }
+    for (int i : shared.order) {
+      if (!candidates[i] || i == previous) {
+        continue;
+      }
+      R result = parse(text, format(i, query), formatters[i], query, patterns[i]);
+      if (result != null) {
+        if (hits != null) {
+          shared.recordHit(i);
+          if (shared != this) {
+            lastMatch = i;
+          }
+        }
+        return result;
+      }
+    }
+    if (key != null) {
+      invalidInputs.put(key, Boolean.TRUE);
+    }
+    return null;
+  }
+
+  /**
+   * @return Indices of the patterns in the order they are currently tried.
+   */
+  int[] getOrder() {
+    return shared.order.clone();
+  }
+
+  private void recordHit(int index) {
+    hits.incrementAndGet(index);
+    if (matches.incrementAndGet() % REORDER_INTERVAL == 0) {
+      // Most hits first, ties keep the configured order. Concurrent reorders are harmless; the last one wins.
+      long[] snapshot = new long[hits.length()];
+      for (int i = 0; i < snapshot.length; i++) {
+        snapshot[i] = hits.get(i);
+      }
+      order = IntStream.range(0, snapshot.length).boxed()
+          .sorted((a, b) -> snapshot[a] != snapshot[b] ? Long.compare(snapshot[b], snapshot[a]) : Integer.compare(a, b))
+          .mapToInt(Integer::intValue).toArray();
+    }
+  }
+
+  private Format format(int index, TemporalQuery<?> query) {
+    Formats current = shared.formats;
+    if (current == null || current.query != query) {
+      // The type converters always pass the same query, so this happens once per chain.
+      current = new Formats(query, formatters.length);
+      shared.formats = current;
+    }
+    Format format = current.formats[index];
+    if (format == null) {
+      // Racing threads may create the same immutable format twice; either one can be used.
+      format = formatters[index].toFormat(query);
+      current.formats[index] = format;
+    }
+    return format;
+  }
+
+  /**
+   * Parses the input with a single formatter without throwing {@link java.time.format.DateTimeParseException} when the input does not match.
+   * 
+   * @return The parsed value or <code>null</code> if the formatter does not match the entire input.
+   */
+  public static <R> R parse(CharSequence text, DateTimeFormatter formatter, TemporalQuery<R> query) {
+    return parse(text, formatter.toFormat(query), formatter, query, formatter);
+  }
+
+  /**
+   * Parses and resolves the input in one pass. The format reports a mismatch or a resolving error by returning <code>null</code> and
+   * setting the error index instead of throwing.
+   */
+  @SuppressWarnings("unchecked")
+  private static <R> R parse(CharSequence text, Format format, DateTimeFormatter formatter, TemporalQuery<R> query, Object pattern) {
+    ParsePosition position = new ParsePosition(0);
+    Object result = format.parseObject(text.toString(), position);
+    if (result != null && position.getIndex() == text.length()) {
+      return (R) result;
+    }
+    if (DIAGNOSTICS.isEnabled()) {
+      if (result == null && position.getIndex() == text.length() && text.length() > 0) {
+        // Parsed, but could not be resolved. Only the exception tells why.
+        try {
+          formatter.parse(text, query);
+        } catch (DateTimeException e) {
+          DIAGNOSTICS.couldNotResolve(text, pattern, e);
+        }
+      } else {
+        DIAGNOSTICS.couldNotParse(text, pattern, result != null || position.getIndex() > 0 ? position.getIndex() : position.getErrorIndex());
+      }
+    }
+    return null;
+  }
+
+  private static final class Formats {
+    private final TemporalQuery<?> query;
+
+    private final Format[] formats;
+
+    Formats(TemporalQuery<?> query, int size) {
+      this.query = query;
+      this.formats = new Format[size];
+    }
+  }
+
+}
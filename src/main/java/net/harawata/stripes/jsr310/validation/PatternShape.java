@@ -0,0 +1,349 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Coarse shape of an input, used to skip patterns that cannot match it.
+ * <p>
+ * The shape is the number of runs of ASCII digits. A pattern whose numeric fields, literals and localized texts determine that number exactly
+ * gets a fingerprint of the same value; any other pattern (optional sections, zones, offsets, texts containing digits, etc.) gets {@link #ANY}.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+final class PatternShape {
+
+  /**
+   * Fingerprint of a pattern that may match inputs of any shape.
+   */
+  static final int ANY = -1;
+
+  private static final String NUMERIC_LETTERS = "uyYdDHhKkmsSAnNFWw";
+
+  private static final String NUMERIC_OR_TEXT_LETTERS = "MLQqec";
+
+  private static final String TEXT_LETTERS = "GEa";
+
+  private static final List<LocalDateTime> TEXT_SAMPLES = new ArrayList<>();
+
+  static {
+    for (int month = 1; month <= 12; month++) {
+      TEXT_SAMPLES.add(LocalDateTime.of(2017, month, 1, 0, 0));
+    }
+    for (int day = 2; day <= 8; day++) {
+      TEXT_SAMPLES.add(LocalDateTime.of(2017, 1, day, 12, 0));
+    }
+    TEXT_SAMPLES.add(LocalDateTime.of(-1, 1, 1, 0, 0));
+  }
+
+  private PatternShape() {
+    super();
+  }
+
+  /**
+   * @return The number of runs of ASCII digits in the input.
+   */
+  static int of(CharSequence input) {
+    int runs = 0;
+    boolean inRun = false;
+    for (int i = 0, len = input.length(); i < len; i++) {
+      char c = input.charAt(i);
+      boolean digit = c >= '0' && c <= '9';
+      if (digit && !inRun) {
+        runs++;
+      }
+      inRun = digit;
+    }
+    return runs;
+  }
+
+  /**
+   * @return The number of digit runs in every input fully matched by the pattern or {@link #ANY}.
+   */
+  static int of(String pattern, Locale locale) {
+    Gap[] gaps = gaps(pattern, locale);
+    return gaps == null ? ANY : gaps.length - 1;
+  }
+
+  /**
+   * Splits the pattern at its numeric fields.
+   * 
+   * @return The gaps before, between and after the digit runs of every input fully matched by the pattern or <code>null</code> if they cannot
+   *         be determined.
+   */
+  static Gap[] gaps(String pattern, Locale locale) {
+    List<Gap> gaps = new ArrayList<>();
+    StringBuilder prefix = new StringBuilder();
+    StringBuilder suffix = new StringBuilder();
+    boolean hasText = false;
+    boolean inGroup = false;
+    int len = pattern.length();
+    for (int pos = 0; pos < len; pos++) {
+      char c = pattern.charAt(pos);
+      if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+        int start = pos;
+        while (pos + 1 < len && pattern.charAt(pos + 1) == c) {
+          pos++;
+        }
+        int count = pos - start + 1;
+        if (NUMERIC_LETTERS.indexOf(c) >= 0 || (NUMERIC_OR_TEXT_LETTERS.indexOf(c) >= 0 && count <= 2)) {
+          if (!inGroup) {
+            gaps.add(new Gap(prefix.toString(), suffix.toString(), hasText));
+            prefix.setLength(0);
+            suffix.setLength(0);
+            hasText = false;
+          } else if (c != 'S' && (count != 2 || "nNA".indexOf(c) >= 0)) {
+            // An adjacent field that may start with a sign splits the digits of a single group.
+            return null;
+          }
+          inGroup = true;
+        } else if (TEXT_LETTERS.indexOf(c) >= 0 || NUMERIC_OR_TEXT_LETTERS.indexOf(c) >= 0) {
+          if (textMayContainDigits(pattern.substring(start, pos + 1), locale)) {
+            return null;
+          }
+          hasText = true;
+          suffix.setLength(0);
+          inGroup = false;
+        } else {
+          // Zones, offsets, padding and anything else whose digits are not fixed.
+          return null;
+        }
+      } else if (c == '\'') {
+        int end = pattern.indexOf('\'', pos + 1);
+        while (end > 0 && end + 1 < len && pattern.charAt(end + 1) == '\'') {
+          end = pattern.indexOf('\'', end + 2);
+        }
+        if (end < 0 || containsDigit(pattern, pos + 1, end)) {
+          return null;
+        }
+        String literal = end == pos + 1 ? "'" : pattern.substring(pos + 1, end).replace("''", "'");
+        (hasText ? suffix : prefix).append(literal);
+        pos = end;
+        inGroup = false;
+      } else if ("[]{}#".indexOf(c) >= 0 || (c >= '0' && c <= '9')) {
+        return null;
+      } else {
+        (hasText ? suffix : prefix).append(c);
+        inGroup = false;
+      }
+    }
+    gaps.add(new Gap(prefix.toString(), suffix.toString(), hasText));
+    return gaps.toArray(new Gap[gaps.size()]);
+  }
+
+  /**
+   * @return The maximum length of an input fully matched by the pattern or {@link Integer#MAX_VALUE} if it is not bounded.
+   */
+  static int maxLength(String pattern, Locale locale) {
+    long max = 0L;
+    int len = pattern.length();
+    for (int pos = 0; pos < len; pos++) {
+      char c = pattern.charAt(pos);
+      if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+        int start = pos;
+        while (pos + 1 < len && pattern.charAt(pos + 1) == c) {
+          pos++;
+        }
+        int count = pos - start + 1;
+        if (c == 'S') {
+          max += count;
+        } else if (NUMERIC_LETTERS.indexOf(c) >= 0 || (NUMERIC_OR_TEXT_LETTERS.indexOf(c) >= 0 && count <= 2)) {
+          // Up to 19 digits and a sign unless the width is fixed ("nn", "NN" and "AA" only set the minimum width).
+          max += count == 2 && "nNA".indexOf(c) < 0 ? 3 : 20;
+        } else if (TEXT_LETTERS.indexOf(c) >= 0 || NUMERIC_OR_TEXT_LETTERS.indexOf(c) >= 0) {
+          int textLength = maxTextLength(pattern.substring(start, pos + 1), locale);
+          if (textLength < 0) {
+            return Integer.MAX_VALUE;
+          }
+          max += textLength;
+        } else {
+          return Integer.MAX_VALUE;
+        }
+      } else if (c == '\'') {
+        int end = pattern.indexOf('\'', pos + 1);
+        while (end > 0 && end + 1 < len && pattern.charAt(end + 1) == '\'') {
+          end = pattern.indexOf('\'', end + 2);
+        }
+        if (end < 0) {
+          return Integer.MAX_VALUE;
+        }
+        max += Math.max(1, end - pos - 1);
+        pos = end;
+      } else if ("{}#".indexOf(c) >= 0) {
+        return Integer.MAX_VALUE;
+      } else if (c != '[' && c != ']') {
+        // Optional sections are counted as if present.
+        max++;
+      }
+    }
+    return (int) Math.min(max, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @return The start and end indices of the non-digit gaps of the input; there is always one more gap than digit runs.
+   */
+  static int[] gapBounds(CharSequence input) {
+    int len = input.length();
+    int[] bounds = new int[8];
+    int count = 0;
+    int gapStart = 0;
+    for (int i = 0; i < len; i++) {
+      char c = input.charAt(i);
+      if (c >= '0' && c <= '9') {
+        if (count + 2 > bounds.length) {
+          bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[count++] = gapStart;
+        bounds[count++] = i;
+        while (i + 1 < len && input.charAt(i + 1) >= '0' && input.charAt(i + 1) <= '9') {
+          i++;
+        }
+        gapStart = i + 1;
+      }
+    }
+    if (count + 2 > bounds.length) {
+      bounds = Arrays.copyOf(bounds, bounds.length + 2);
+    }
+    bounds[count++] = gapStart;
+    bounds[count++] = len;
+    return count == bounds.length ? bounds : Arrays.copyOf(bounds, count);
+  }
+
+  /**
+   * Non-digit part of a pattern between two numeric groups: literals, optionally with localized texts in the middle.
+   */
+  static final class Gap {
+    private final String prefix;
+
+    private final String suffix;
+
+    private final boolean hasText;
+
+    Gap(String prefix, String suffix, boolean hasText) {
+      this.prefix = prefix;
+      this.suffix = suffix;
+      this.hasText = hasText;
+    }
+
+    /**
+     * @param beforeNumber Whether a numeric field follows the gap. The field may consume a trailing sign.
+     * @return <code>false</code> if the formatter cannot match the region of the input.
+     */
+    boolean matches(CharSequence input, int start, int end, boolean beforeNumber) {
+      if (matchesExactly(input, start, end)) {
+        return true;
+      }
+      if (beforeNumber && end > start) {
+        char c = input.charAt(end - 1);
+        return (c == '+' || c == '-') && matchesExactly(input, start, end - 1);
+      }
+      return false;
+    }
+
+    private boolean matchesExactly(CharSequence input, int start, int end) {
+      int len = end - start;
+      int fixed = prefix.length() + suffix.length();
+      if (hasText ? len < fixed : len != fixed) {
+        return false;
+      }
+      return regionMatches(input, start, prefix) && regionMatches(input, end - suffix.length(), suffix);
+    }
+
+    private static boolean regionMatches(CharSequence input, int start, String literal) {
+      for (int i = 0; i < literal.length(); i++) {
+        // Same comparison as DateTimeFormatter in case insensitive mode.
+        char c1 = input.charAt(start + i);
+        char c2 = literal.charAt(i);
+        if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+            && Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return (prefix.hashCode() * 31 + suffix.hashCode()) * 31 + (hasText ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Gap)) {
+        return false;
+      }
+      Gap other = (Gap) obj;
+      return hasText == other.hasText && prefix.equals(other.prefix) && suffix.equals(other.suffix);
+    }
+
+    @Override
+    public String toString() {
+      return hasText ? prefix + "*" + suffix : prefix;
+    }
+  }
+
+  private static boolean textMayContainDigits(String field, Locale locale) {
+    DateTimeFormatter formatter;
+    try {
+      formatter = DateTimeFormatter.ofPattern(field, locale);
+    } catch (IllegalArgumentException e) {
+      return true;
+    }
+    try {
+      for (LocalDateTime sample : TEXT_SAMPLES) {
+        String text = formatter.format(sample);
+        if (containsDigit(text, 0, text.length())) {
+          return true;
+        }
+      }
+    } catch (DateTimeException e) {
+      return true;
+    }
+    return false;
+  }
+
+  private static int maxTextLength(String field, Locale locale) {
+    try {
+      DateTimeFormatter formatter = DateTimeFormatter.ofPattern(field, locale);
+      int max = 0;
+      for (LocalDateTime sample : TEXT_SAMPLES) {
+        max = Math.max(max, formatter.format(sample).length());
+      }
+      return max;
+    } catch (IllegalArgumentException | DateTimeException e) {
+      return -1;
+    }
+  }
+
+  private static boolean containsDigit(String str, int from, int to) {
+    for (int i = from; i < to; i++) {
+      char c = str.charAt(i);
+      if (c >= '0' && c <= '9') {
+        return true;
+      }
+    }
+    return false;
+  }
+}
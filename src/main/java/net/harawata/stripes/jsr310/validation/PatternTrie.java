@@ -0,0 +1,124 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.harawata.stripes.jsr310.validation.PatternShape.Gap;
+
+/**
+ * Merges the {@link Gap gaps} of all patterns of a chain into a trie, so that the input is scanned once and every distinct gap is compared once
+ * regardless of how many patterns share it.
+ * <p>
+ * A pattern is a candidate if the trie cannot rule it out. Candidates still have to be confirmed by parsing; patterns whose gaps are unknown are
+ * always candidates.
+ * </p>
+ * 
+ * @author Iwao AVE!
+ */
+final class PatternTrie {
+
+  private final Gap[][] gaps;
+
+  private final Map<Integer, Node> roots = new HashMap<>();
+
+  private final int[] unknown;
+
+  PatternTrie(Gap[][] gaps) {
+    this.gaps = gaps;
+    List<Integer> unknownList = new ArrayList<>();
+    for (int i = 0; i < gaps.length; i++) {
+      if (gaps[i] == null) {
+        unknownList.add(i);
+        continue;
+      }
+      Node node = roots.computeIfAbsent(gaps[i].length, k -> new Node(null));
+      for (Gap gap : gaps[i]) {
+        node = node.child(gap);
+      }
+      node.addPattern(i);
+    }
+    this.unknown = unknownList.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * @return The number of digit runs an input must contain to match the pattern or {@link PatternShape#ANY}.
+   */
+  int getShape(int index) {
+    return gaps[index] == null ? PatternShape.ANY : gaps[index].length - 1;
+  }
+
+  /**
+   * @return Flags indexed by pattern, <code>true</code> for the patterns that may match the input.
+   */
+  boolean[] match(CharSequence input) {
+    boolean[] candidates = new boolean[gaps.length];
+    for (int i : unknown) {
+      candidates[i] = true;
+    }
+    int[] bounds = PatternShape.gapBounds(input);
+    Node root = roots.get(bounds.length / 2);
+    if (root != null) {
+      match(root, input, bounds, 0, candidates);
+    }
+    return candidates;
+  }
+
+  private static void match(Node node, CharSequence input, int[] bounds, int depth, boolean[] candidates) {
+    if (depth * 2 == bounds.length) {
+      for (int i : node.patterns) {
+        candidates[i] = true;
+      }
+      return;
+    }
+    boolean beforeNumber = depth * 2 + 2 < bounds.length;
+    for (Node child : node.children) {
+      if (child.gap.matches(input, bounds[depth * 2], bounds[depth * 2 + 1], beforeNumber)) {
+        match(child, input, bounds, depth + 1, candidates);
+      }
+    }
+  }
+
+  private static final class Node {
+    private final Gap gap;
+
+    private final List<Node> children = new ArrayList<>();
+
+    private int[] patterns = new int[0];
+
+    Node(Gap gap) {
+      this.gap = gap;
+    }
+
+    Node child(Gap childGap) {
+      for (Node child : children) {
+        if (child.gap.equals(childGap)) {
+          return child;
+        }
+      }
+      Node child = new Node(childGap);
+      children.add(child);
+      return child;
+    }
+
+    void addPattern(int index) {
+      patterns = Arrays.copyOf(patterns, patterns.length + 1);
+      patterns[patterns.length - 1] = index;
+    }
+  }
+}
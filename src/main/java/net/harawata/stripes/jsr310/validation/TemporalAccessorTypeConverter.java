@@ -13,31 +13,108 @@
  */
 package net.harawata.stripes.jsr310.validation;
 
+import java.lang.reflect.Array;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
+import net.harawata.stripes.jsr310.util.BundleSnapshot;
+import net.harawata.stripes.jsr310.util.CurrentYearProvider;
+import net.harawata.stripes.jsr310.util.InputNormalizer;
+import net.harawata.stripes.jsr310.util.LruCache;
 import net.sourceforge.stripes.controller.StripesFilter;
+import net.sourceforge.stripes.util.Log;
 import net.sourceforge.stripes.validation.TypeConverter;
 import net.sourceforge.stripes.validation.ValidationError;
 
+/**
+ * Base class of the type converters.
+ * <p>
+ * Everything {@link #convert(String, Class, Collection)} needs is compiled into an immutable {@link PatternChain} per converter type, locale
+ * and settings, which is looked up on each call and passed to the parsing methods. Other than the locale, which is set once before use, an
+ * instance holds no state, so a single instance can be shared by concurrent requests.
+ * </p>
+ */
 public abstract class TemporalAccessorTypeConverter<T extends TemporalAccessor> implements TypeConverter<T> {
 
   public static final String KEY_PRE_PROCESS_PATTERN = "stripes.temporalAccessorTypeConverter.preProcessPattern";
 
+  public static final String KEY_ADAPTIVE_PATTERN_ORDER = "stripes.temporalAccessorTypeConverter.adaptivePatternOrder";
+
+  /**
+   * Maximum number of converted values to cache per converter type and locale. Caching is disabled if not specified.
+   */
+  public static final String KEY_MEMO_SIZE = "stripes.temporalAccessorTypeConverter.memoSize";
+
+  /**
+   * Maximum number of invalid inputs to cache per converter type and locale. Caching is disabled if not specified.
+   */
+  public static final String KEY_INVALID_MEMO_SIZE = "stripes.temporalAccessorTypeConverter.invalidMemoSize";
+
+  /**
+   * Time-to-live in seconds of a cached value that may have been completed with the default year.
+   */
+  public static final String KEY_MEMO_TTL = "stripes.temporalAccessorTypeConverter.memoTtl";
+
   public static final Pattern PRE_PROCESS_PATTERN = Pattern.compile("(?<=[0-9])T(?=[0-9])|[,/:\\s\\.-]+");
 
   public static final Pattern PATTERN_NORMALIZATION_PATTERN = Pattern.compile("([-,\\.\\s/:-]|('.*?'))+");
 
-  protected Locale locale;
+  /**
+   * Returned by {@link #getDefaultYear()} when the parsed value should not be completed with a default year.
+   */
+  protected static final int NO_DEFAULT_YEAR = 0;
+
+  /**
+   * Maximum number of compiled chains kept in memory. When it is reached, arbitrary chains are discarded and compiled again on next use.
+   */
+  public static final int PATTERN_CHAIN_CACHE_SIZE = 1024;
 
-  protected Pattern preProcessPattern;
+  private static final Log LOG = Log.getInstance(TemporalAccessorTypeConverter.class);
 
-  protected LinkedHashSet<String> patterns = new LinkedHashSet<>();
+  /**
+   * Whether a converter type uses the default {@link #normalizePattern(String)}.
+   */
+  private static final ClassValue<Boolean> DEFAULT_NORMALIZATION = new ClassValue<Boolean>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      for (Class<?> c = type; c != TemporalAccessorTypeConverter.class; c = c.getSuperclass()) {
+        try {
+          c.getDeclaredMethod("normalizePattern", String.class);
+          return Boolean.FALSE;
+        } catch (NoSuchMethodException e) {
+          // Not overridden at this level.
+        }
+      }
+      return Boolean.TRUE;
+    }
+  };
+
+  private static final ConcurrentMap<PatternChainKey, PatternChain> PATTERN_CHAINS = new ConcurrentHashMap<>();
+
+  protected Locale locale;
+
+  /**
+   * Discards all the compiled pattern chains. Call this after changing the patterns in the resource bundle.
+   */
+  public static void clearPatternChains() {
+    PATTERN_CHAINS.clear();
+  }
 
   @Override
   public void setLocale(Locale locale) {
@@ -46,28 +123,179 @@ public abstract class TemporalAccessorTypeConverter<T extends TemporalAccessor>
 
   @Override
   public T convert(String input, Class<? extends T> targetType, Collection<ValidationError> errors) {
-    preparePreProcessPattern();
-    prepareInputPatterns();
-    return parse(input, errors);
+    return convert(preparePatternChain(), input, errors);
+  }
+
+  /**
+   * Converts the values of a multi-valued parameter with a single lookup of the compiled chain. In adaptive mode, the pattern that matched the
+   * previous input is tried first.
+   * <p>
+   * <code>null</code> and empty inputs are skipped. The field value of each error is set to the input that caused it. An input that makes
+   * the converter throw is logged and skipped without affecting the others.
+   * </p>
+   * 
+   * @return The converted values in the same order as the inputs, <code>null</code> for the inputs that were skipped or could not be
+   *         converted.
+   */
+  public T[] convertAll(String[] inputs, Class<T> targetType, Collection<ValidationError> errors) {
+    @SuppressWarnings("unchecked")
+    T[] results = (T[]) Array.newInstance(targetType, inputs.length);
+    PatternChain chain = preparePatternChain().forBatch();
+    List<ValidationError> inputErrors = new ArrayList<>();
+    for (int i = 0; i < inputs.length; i++) {
+      String input = inputs[i];
+      if (input == null || input.isEmpty()) {
+        continue;
+      }
+      try {
+        results[i] = convert(chain, input, inputErrors);
+      } catch (RuntimeException e) {
+        // Same as the default binder : log and skip the value, the rest of the batch is still converted.
+        LOG.warn(e, "Failed to convert '", input, "' with ", getClass().getName(), ".");
+        inputErrors.clear();
+        continue;
+      }
+      for (ValidationError error : inputErrors) {
+        error.setFieldValue(input);
+        errors.add(error);
+      }
+      inputErrors.clear();
+    }
+    return results;
+  }
+
+  protected T convert(PatternChain chain, String input, Collection<ValidationError> errors) {
+    return parseMemoized(chain, input, errors);
+  }
+
+  /**
+   * @return The compiled chain for the current locale and settings, shared by all the instances.
+   */
+  protected PatternChain preparePatternChain() {
+    String patternsKey = getPatternsKey();
+    ChainSettings settings = getBundleSnapshot().derive(patternsKey, bundle -> new ChainSettings(bundle, patternsKey));
+    int defaultYear = getDefaultYear();
+    PatternChainKey key = new PatternChainKey(getClass(), locale, settings, defaultYear);
+    PatternChain chain = PATTERN_CHAINS.get(key);
+    if (chain == null) {
+      long memoTtl = defaultYear == NO_DEFAULT_YEAR ? 0L : settings.memoTtl;
+      chain = compilePatternChain(defaultYear, settings.adaptive, createMemo(settings.memoSize, memoTtl),
+          createMemo(settings.invalidMemoSize, memoTtl));
+      // The chains compiled for the other years are no longer used.
+      PATTERN_CHAINS.keySet().removeIf(other -> other.isOtherYearOf(key));
+      evictIfFull();
+      PatternChain existing = PATTERN_CHAINS.putIfAbsent(key, chain);
+      if (existing != null) {
+        chain = existing;
+      }
+    }
+    return chain;
+  }
+
+  private static void evictIfFull() {
+    Iterator<PatternChainKey> iterator = PATTERN_CHAINS.keySet().iterator();
+    while (PATTERN_CHAINS.size() >= PATTERN_CHAIN_CACHE_SIZE && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  /**
+   * @return The number of compiled chains in memory.
+   */
+  static int getPatternChainCount() {
+    return PATTERN_CHAINS.size();
+  }
+
+  protected PatternChain compilePatternChain(int defaultYear, boolean adaptive, LruCache<String, TemporalAccessor> memo,
+      LruCache<String, Boolean> invalidInputs) {
+    Pattern preProcessPattern = preparePreProcessPattern();
+    Collection<String> patterns = new LinkedHashSet<>();
+    prepareInputPatterns(patterns);
+    return new PatternChain(preProcessPattern, patterns, pattern -> buildFormatter(pattern, defaultYear), adaptive, memo, invalidInputs);
+  }
+
+  /**
+   * @param size The maximum number of entries; the memo is disabled if it is not positive.
+   * @param ttl Time-to-live of an entry in seconds or 0.
+   */
+  protected <V> LruCache<String, V> createMemo(int size, long ttl) {
+    if (size <= 0) {
+      return null;
+    }
+    // The chain is compiled per default year, so the memo never outlives a year rollover even without TTL.
+    return new LruCache<>(size, ttl, TimeUnit.SECONDS);
+  }
+
+
+  /**
+   * Returns the cached value for the input if any, otherwise calls {@link #parse(PatternChain, String, Collection)} and caches the
+   * successfully converted value.
+   */
+  protected T parseMemoized(PatternChain chain, String input, Collection<ValidationError> errors) {
+    LruCache<String, TemporalAccessor> memo = chain.getMemo();
+    if (memo == null) {
+      return parse(chain, input, errors);
+    }
+    @SuppressWarnings("unchecked")
+    T result = (T) memo.get(input);
+    if (result == null) {
+      result = parse(chain, input, errors);
+      if (result != null) {
+        memo.put(input, result);
+      }
+    }
+    return result;
+  }
+
+  protected DateTimeFormatter buildFormatter(String pattern, int defaultYear) {
+    DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern);
+    if (defaultYear != NO_DEFAULT_YEAR) {
+      builder.parseDefaulting(ChronoField.YEAR_OF_ERA, defaultYear);
+    }
+    return builder.toFormatter(locale);
+  }
+
+  /**
+   * @return The year used when the input does not contain one or {@link #NO_DEFAULT_YEAR}.
+   */
+  protected int getDefaultYear() {
+    return NO_DEFAULT_YEAR;
+  }
+
+  protected CurrentYearProvider getCurrentYearProvider() {
+    return CurrentYearProvider.getDefault();
   }
 
   protected String normalizePattern(String orig) {
-    return PATTERN_NORMALIZATION_PATTERN.matcher(orig).replaceAll(" ").trim();
+    return LocalizedPatterns.normalize(orig);
   }
 
-  protected void preparePreProcessPattern() {
-    try {
-      preProcessPattern = Pattern.compile(getResourceString(KEY_PRE_PROCESS_PATTERN));
-    } catch (MissingResourceException e) {
-      preProcessPattern = PRE_PROCESS_PATTERN;
+  /**
+   * @return The localized pattern of the styles for the current locale, normalized by {@link #normalizePattern(String)}.
+   */
+  protected String getLocalizedPattern(FormatStyle dateStyle, FormatStyle timeStyle) {
+    if (DEFAULT_NORMALIZATION.get(getClass())) {
+      // Normalized in advance.
+      return LocalizedPatterns.getNormalized(dateStyle, timeStyle, locale);
     }
+    return normalizePattern(LocalizedPatterns.get(dateStyle, timeStyle, locale));
   }
 
-  protected String preProcessInput(String input) {
-    return replaceSeparators(input).trim();
+  protected Pattern preparePreProcessPattern() {
+    String customPattern = getOptionalResourceString(KEY_PRE_PROCESS_PATTERN);
+    return customPattern == null ? PRE_PROCESS_PATTERN : Pattern.compile(customPattern);
+  }
+
+  protected String preProcessInput(PatternChain chain, String input) {
+    Pattern preProcessPattern = chain.getPreProcessPattern();
+    if (preProcessPattern == PRE_PROCESS_PATTERN) {
+      return InputNormalizer.normalize(input);
+    }
+    return replaceSeparators(preProcessPattern, input).trim();
   }
 
-  protected String replaceSeparators(String src) {
+  protected String replaceSeparators(Pattern preProcessPattern, String src) {
     return preProcessPattern.matcher(src).replaceAll(" ");
   }
 
@@ -75,12 +303,153 @@ public abstract class TemporalAccessorTypeConverter<T extends TemporalAccessor>
     return getErrorMessageBundle().getString(key);
   }
 
+  /**
+   * @return The value from the snapshot of the error bundle or <code>null</code> if the key is missing.
+   * @see BundleSnapshot
+   */
+  protected String getOptionalResourceString(String key) {
+    return getBundleSnapshot().get(key);
+  }
+
+  protected BundleSnapshot getBundleSnapshot() {
+    return BundleSnapshot.of(getErrorMessageBundle());
+  }
+
   protected ResourceBundle getErrorMessageBundle() {
     return StripesFilter.getConfiguration().getLocalizationBundleFactory().getErrorMessageBundle(locale);
   }
 
-  protected abstract void prepareInputPatterns();
+  protected abstract String getPatternsKey();
+
+  /**
+   * Adds the input patterns to the collection when a chain is compiled.
+   */
+  protected abstract void prepareInputPatterns(Collection<String> patterns);
+
+  /**
+   * Parses the input with the compiled chain. Implementations must not store anything in the instance.
+   */
+  protected abstract T parse(PatternChain chain, String input, Collection<ValidationError> errors);
+
+  /**
+   * The entries of a bundle snapshot that affect the chain of a converter type, parsed once per snapshot.
+   */
+  private static final class ChainSettings {
+    private final String patterns;
+
+    private final String preProcessPattern;
+
+    private final boolean adaptive;
+
+    private final int memoSize;
+
+    private final int invalidMemoSize;
+
+    private final long memoTtl;
+
+    private final int hashCode;
+
+    ChainSettings(BundleSnapshot bundle, String patternsKey) {
+      this.patterns = bundle.get(patternsKey);
+      this.preProcessPattern = bundle.get(KEY_PRE_PROCESS_PATTERN);
+      this.adaptive = Boolean.parseBoolean(bundle.get(KEY_ADAPTIVE_PATTERN_ORDER));
+      long ttl = parseMemoSetting(bundle, KEY_MEMO_TTL, Long.MAX_VALUE);
+      // Without a valid TTL, values completed with the default year could be cached too long.
+      this.memoTtl = Math.max(ttl, 0L);
+      this.memoSize = ttl < 0L ? 0 : (int) parseMemoSetting(bundle, KEY_MEMO_SIZE, Integer.MAX_VALUE);
+      this.invalidMemoSize = ttl < 0L ? 0 : (int) parseMemoSetting(bundle, KEY_INVALID_MEMO_SIZE, Integer.MAX_VALUE);
+      this.hashCode = Objects.hash(patterns, preProcessPattern, adaptive, memoSize, invalidMemoSize, memoTtl);
+    }
 
-  protected abstract T parse(String input, Collection<ValidationError> errors);
+    /**
+     * @return The value, 0 if it is missing or -1 (after logging a warning) if it is invalid.
+     */
+    private static long parseMemoSetting(BundleSnapshot bundle, String key, long max) {
+      String value = bundle.get(key);
+      if (value == null) {
+        return 0L;
+      }
+      try {
+        long result = Long.parseLong(value.trim());
+        if (result >= 0L && result <= max) {
+          return result;
+        }
+      } catch (NumberFormatException e) {
+        // Reported below.
+      }
+      LOG.warn("Disabled the memo because ", key, " is invalid: ", value);
+      return -1L;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ChainSettings)) {
+        return false;
+      }
+      ChainSettings other = (ChainSettings) obj;
+      return hashCode == other.hashCode
+          && adaptive == other.adaptive
+          && Objects.equals(patterns, other.patterns)
+          && Objects.equals(preProcessPattern, other.preProcessPattern)
+          && memoSize == other.memoSize
+          && invalidMemoSize == other.invalidMemoSize
+          && memoTtl == other.memoTtl;
+    }
+  }
+
+  private static final class PatternChainKey {
+    private final Class<?> converterType;
+
+    private final Locale locale;
+
+    private final ChainSettings settings;
+
+    private final int defaultYear;
+
+    private final int hashCode;
+
+    PatternChainKey(Class<?> converterType, Locale locale, ChainSettings settings, int defaultYear) {
+      this.converterType = converterType;
+      this.locale = locale;
+      this.settings = settings;
+      this.defaultYear = defaultYear;
+      this.hashCode = ((converterType.hashCode() * 31 + Objects.hashCode(locale)) * 31 + settings.hashCode()) * 31 + defaultYear;
+    }
+
+    boolean isOtherYearOf(PatternChainKey key) {
+      return defaultYear != key.defaultYear
+          && converterType == key.converterType
+          && Objects.equals(locale, key.locale)
+          && settings.equals(key.settings);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof PatternChainKey)) {
+        return false;
+      }
+      PatternChainKey other = (PatternChainKey) obj;
+      return converterType == other.converterType
+          && defaultYear == other.defaultYear
+          && Objects.equals(locale, other.locale)
+          && settings.equals(other.settings);
+    }
+  }
 
 }
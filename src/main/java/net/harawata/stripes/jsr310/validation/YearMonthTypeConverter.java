@@ -13,36 +13,37 @@
  */
 package net.harawata.stripes.jsr310.validation;
 
-import java.time.LocalDate;
 import java.time.YearMonth;
-import java.time.chrono.Chronology;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.time.format.FormatStyle;
-import java.time.temporal.ChronoField;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class YearMonthTypeConverter extends TemporalAccessorTypeConverter<YearMonth> {
 
-  private static final Log LOG = Log.getInstance(YearMonthTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.yearMonthTypeConverter.patterns";
 
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
+  }
+
+  @Override
+  protected int getDefaultYear() {
+    return getCurrentYearProvider().getYear();
+  }
+
+  @Override
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
+    } else {
       // No user defined patterns.
       Stream.of(FormatStyle.class.getEnumConstants()).forEach(style -> {
-        patterns.add(normalizePattern(DateTimeFormatterBuilder.getLocalizedDateTimePattern(style, null, Chronology.ofLocale(locale), locale)));
+        patterns.add(getLocalizedPattern(style, null));
       });
     }
   }
@@ -51,18 +52,12 @@ public class YearMonthTypeConverter extends TemporalAccessorTypeConverter<YearMo
     return PATTERN_NORMALIZATION_PATTERN.matcher(orig).replaceAll(" ").replaceAll(" *[^ yM]", "").trim();
   }
 
-  protected YearMonth parse(String input, Collection<ValidationError> errors) {
-    String parseable = preProcessInput(input);
-    for (String pattern : patterns) {
-      DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).parseDefaulting(ChronoField.YEAR_OF_ERA, LocalDate.now().getYear()).toFormatter(locale);
-      try {
-        return YearMonth.parse(parseable, formatter);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", parseable, "' using pattern '", pattern, "'. ", e.getMessage());
-      }
+  protected YearMonth parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    YearMonth result = chain.parse(preProcessInput(chain, input), YearMonth::from);
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.yearMonth", "invalidInput"));
     }
-    errors.add(new ScopedLocalizableError("converter.yearMonth", "invalidInput"));
-    return null;
+    return result;
   }
 
 }
@@ -14,45 +14,79 @@
 package net.harawata.stripes.jsr310.validation;
 
 import java.time.Year;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.util.Collection;
-import java.util.MissingResourceException;
 import java.util.stream.Stream;
 
-import net.sourceforge.stripes.util.Log;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
 public class YearTypeConverter extends TemporalAccessorTypeConverter<Year> {
 
-  private static final Log LOG = Log.getInstance(YearTypeConverter.class);
-
   public static final String KEY_PATTERNS = "stripes.YearTypeConverter.patterns";
 
+  /**
+   * Base value of the two-digit years, same as the default pattern "yy".
+   */
+  protected static final int TWO_DIGIT_YEAR_BASE = 2000;
+
   @Override
-  protected void prepareInputPatterns() {
-    try {
-      Stream.of(getResourceString(KEY_PATTERNS).split(", *")).forEach(patterns::add);
-    } catch (MissingResourceException e) {
+  protected String getPatternsKey() {
+    return KEY_PATTERNS;
+  }
+
+  @Override
+  protected void prepareInputPatterns(Collection<String> patterns) {
+    String customPatterns = getOptionalResourceString(KEY_PATTERNS);
+    if (customPatterns != null) {
+      Stream.of(customPatterns.split(", *")).forEach(patterns::add);
+    } else {
       // No user defined patterns.
       Stream.of("yyyy", "yy").forEach(patterns::add);
     }
   }
 
-  protected Year parse(String input, Collection<ValidationError> errors) {
-    String parseable = preProcessInput(input);
-    for (String pattern : patterns) {
-      DateTimeFormatter formatter = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(locale);
-      try {
-        return Year.parse(parseable, formatter);
-      } catch (DateTimeParseException e) {
-        LOG.debug("Could not parse '", parseable, "' using pattern '", pattern, "'. ", e.getMessage());
+  protected Year parse(PatternChain chain, String input, Collection<ValidationError> errors) {
+    String text = preProcessInput(chain, input);
+    Year result = isDefaultPatterns() ? parseDigits(text) : null;
+    if (result != null) {
+      return result;
+    }
+    result = chain.parse(text, Year::from);
+    if (result == null) {
+      errors.add(new ScopedLocalizableError("converter.year", "invalidInput"));
+    }
+    return result;
+  }
+
+  /**
+   * @return Whether the default patterns are used, in which case plain digits are parsed without the formatters.
+   */
+  protected boolean isDefaultPatterns() {
+    return getOptionalResourceString(KEY_PATTERNS) == null;
+  }
+
+  /**
+   * Equivalent of the default patterns for the inputs consisting of 4 or 2 ASCII digits.
+   * 
+   * @return The year or <code>null</code> if the input should be parsed with the formatters.
+   */
+  protected Year parseDigits(String text) {
+    int length = text.length();
+    if (length != 4 && length != 2) {
+      return null;
+    }
+    int value = 0;
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        return null;
       }
+      value = value * 10 + (c - '0');
+    }
+    if (length == 2) {
+      return Year.of(TWO_DIGIT_YEAR_BASE + value);
     }
-    errors.add(new ScopedLocalizableError("converter.year", "invalidInput"));
-    return null;
+    return value == 0 ? null : Year.of(value);
   }
 
 }
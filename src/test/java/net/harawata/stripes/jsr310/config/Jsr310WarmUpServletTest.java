@@ -0,0 +1,99 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.config;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.ListResourceBundle;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.validation.Jsr310TypeConverterFactory;
+import net.harawata.stripes.jsr310.validation.LocalDateTypeConverter;
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.controller.StripesFilter;
+import net.sourceforge.stripes.mock.MockServletContext;
+
+public class Jsr310WarmUpServletTest {
+  private static final AtomicInteger CONVERSIONS = new AtomicInteger();
+
+  private MockServletContext context;
+
+  @Before
+  public void setUp() {
+    CONVERSIONS.set(0);
+    context = new MockServletContext("test");
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void shouldSkipWithoutConfiguration() throws Exception {
+    context.setServlet(Jsr310WarmUpServlet.class, "Jsr310WarmUpServlet", null);
+    assertEquals(0, CONVERSIONS.get());
+  }
+
+  @Test
+  public void shouldSkipWithInvalidIterations() throws Exception {
+    addStripesFilter();
+    context.setServlet(Jsr310WarmUpServlet.class, "Jsr310WarmUpServlet",
+        Collections.singletonMap(Jsr310WarmUpServlet.ITERATIONS, "2,000"));
+    assertEquals(0, CONVERSIONS.get());
+  }
+
+  @Test
+  public void shouldWarmUp() throws Exception {
+    addStripesFilter();
+    context.setServlet(Jsr310WarmUpServlet.class, "Jsr310WarmUpServlet",
+        Collections.singletonMap(Jsr310WarmUpServlet.ITERATIONS, " 3 "));
+    assertTrue(CONVERSIONS.get() > 0);
+  }
+
+  private void addStripesFilter() {
+    Map<String, String> params = new HashMap<>();
+    params.put("ActionResolver.Packages", "net.harawata.stripes.jsr310.config");
+    params.put("TypeConverterFactory.Class", CountingTypeConverterFactory.class.getName());
+    context.addFilter(StripesFilter.class, "StripesFilter", params);
+  }
+
+  public static class CountingTypeConverterFactory extends Jsr310TypeConverterFactory {
+    @Override
+    public void init(Configuration configuration) {
+      super.init(configuration);
+      add(LocalDate.class, LocalDateTypeConverter.class, () -> new LocalDateTypeConverter() {
+        @Override
+        protected ResourceBundle getErrorMessageBundle() {
+          CONVERSIONS.incrementAndGet();
+          return new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+              return new Object[][] {};
+            }
+          };
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.config;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.format.Jsr310FormatterFactory;
+import net.harawata.stripes.jsr310.format.LocalDateFormatter;
+import net.harawata.stripes.jsr310.format.YearFormatter;
+import net.harawata.stripes.jsr310.validation.Jsr310TypeConverterFactory;
+import net.harawata.stripes.jsr310.validation.LocalDateTypeConverter;
+import net.harawata.stripes.jsr310.validation.YearTypeConverter;
+
+public class Jsr310WarmUpTest {
+  private static final ResourceBundle BUNDLE = new ListResourceBundle() {
+    @Override
+    protected Object[][] getContents() {
+      return new Object[][] {};
+    }
+  };
+
+  private Jsr310TypeConverterFactory typeConverterFactory;
+
+  private Jsr310FormatterFactory formatterFactory;
+
+  private AtomicInteger conversions;
+
+  @Before
+  public void setUp() throws Exception {
+    conversions = new AtomicInteger();
+    typeConverterFactory = new Jsr310TypeConverterFactory();
+    typeConverterFactory.init(null);
+    typeConverterFactory.add(LocalDate.class, LocalDateTypeConverter.class, () -> new LocalDateTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        conversions.incrementAndGet();
+        return BUNDLE;
+      }
+    });
+    typeConverterFactory.add(Year.class, YearTypeConverter.class, () -> new YearTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return BUNDLE;
+      }
+    });
+    formatterFactory = new Jsr310FormatterFactory();
+    formatterFactory.init(null);
+    formatterFactory.add(LocalDate.class, LocalDateFormatter.class, () -> new LocalDateFormatter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return BUNDLE;
+      }
+    });
+    formatterFactory.add(Year.class, YearFormatter.class, () -> new YearFormatter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return BUNDLE;
+      }
+    });
+  }
+
+  @Test
+  public void shouldWarmUpFormattersAndConverters() throws Exception {
+    Jsr310WarmUp warmUp = new Jsr310WarmUp(typeConverterFactory, formatterFactory, Arrays.asList(LocalDate.class, Year.class));
+    assertEquals(0, warmUp.run(Arrays.asList(Locale.US, Locale.JAPAN), 10));
+    assertTrue("Each conversion reads the bundle at least once", conversions.get() >= 2 * 2 * 10);
+    // Initialized formatters are cached by the factory.
+    assertSame(formatterFactory.getFormatter(LocalDate.class, Locale.JAPAN, null, null),
+        formatterFactory.getFormatter(LocalDate.class, Locale.JAPAN, null, null));
+  }
+
+  @Test
+  public void shouldCountFailures() throws Exception {
+    Jsr310WarmUp warmUp = new Jsr310WarmUp(typeConverterFactory, formatterFactory, Arrays.asList(LocalDate.class, String.class));
+    assertEquals(1, warmUp.run(Arrays.asList(Locale.US), 1));
+  }
+
+  @Test
+  public void shouldParseLocales() throws Exception {
+    assertEquals(Arrays.asList(Locale.US, Locale.JAPAN, Locale.FRENCH), Jsr310WarmUp.parseLocales("en-US, ja-JP,,fr"));
+  }
+}
@@ -0,0 +1,178 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.controller;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.validation.Jsr310TypeConverterFactory;
+import net.harawata.stripes.jsr310.validation.LocalDateTypeConverter;
+import net.sourceforge.stripes.action.ActionBean;
+import net.sourceforge.stripes.action.ActionBeanContext;
+import net.sourceforge.stripes.action.DefaultHandler;
+import net.sourceforge.stripes.action.Resolution;
+import net.sourceforge.stripes.action.UrlBinding;
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.controller.DispatcherServlet;
+import net.sourceforge.stripes.controller.StripesFilter;
+import net.sourceforge.stripes.mock.MockRoundtrip;
+import net.sourceforge.stripes.mock.MockServletContext;
+import net.sourceforge.stripes.validation.ValidationError;
+
+public class Jsr310ActionBeanPropertyBinderTest {
+  private static final AtomicInteger BATCHES = new AtomicInteger();
+
+  private MockServletContext context;
+
+  @Before
+  public void setUp() {
+    BATCHES.set(0);
+    context = new MockServletContext("test");
+    Map<String, String> params = new HashMap<>();
+    params.put("ActionResolver.Packages", "net.harawata.stripes.jsr310.controller");
+    params.put("ActionBeanPropertyBinder.Class", Jsr310ActionBeanPropertyBinder.class.getName());
+    params.put("TypeConverterFactory.Class", CountingTypeConverterFactory.class.getName());
+    context.addFilter(StripesFilter.class, "StripesFilter", params);
+    context.setServlet(DispatcherServlet.class, "DispatcherServlet", null);
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void shouldBatchListProperty() throws Exception {
+    MockRoundtrip trip = new MockRoundtrip(context, DatesActionBean.class);
+    trip.getRequest().addLocale(Locale.US);
+    trip.addParameter("list", "Mar 27, 2017", "Apr 1, 2017");
+    trip.execute();
+    DatesActionBean bean = trip.getActionBean(DatesActionBean.class);
+    assertEquals(Arrays.asList(LocalDate.of(2017, 3, 27), LocalDate.of(2017, 4, 1)), bean.getList());
+    assertEquals(1, BATCHES.get());
+  }
+
+  @Test
+  public void shouldBatchArrayProperty() throws Exception {
+    MockRoundtrip trip = new MockRoundtrip(context, DatesActionBean.class);
+    trip.getRequest().addLocale(Locale.US);
+    trip.addParameter("array", "Mar 27, 2017", "Apr 1, 2017");
+    trip.execute();
+    DatesActionBean bean = trip.getActionBean(DatesActionBean.class);
+    assertArrayEquals(new LocalDate[] { LocalDate.of(2017, 3, 27), LocalDate.of(2017, 4, 1) }, bean.getArray());
+    assertEquals(1, BATCHES.get());
+  }
+
+  @Test
+  public void shouldReportInvalidValueOfBatch() throws Exception {
+    MockRoundtrip trip = new MockRoundtrip(context, DatesActionBean.class);
+    trip.getRequest().addLocale(Locale.US);
+    trip.addParameter("list", "Mar 27, 2017", "Smarch 1, 2017");
+    trip.execute();
+    List<ValidationError> errors = trip.getValidationErrors().get("list");
+    assertEquals(1, errors.size());
+    assertEquals("list", errors.get(0).getFieldName());
+    assertEquals("Smarch 1, 2017", errors.get(0).getFieldValue());
+    assertEquals(1, BATCHES.get());
+  }
+
+  @Test
+  public void shouldNotBatchSingleValue() throws Exception {
+    MockRoundtrip trip = new MockRoundtrip(context, DatesActionBean.class);
+    trip.getRequest().addLocale(Locale.US);
+    trip.addParameter("list", "Mar 27, 2017");
+    trip.execute();
+    DatesActionBean bean = trip.getActionBean(DatesActionBean.class);
+    assertEquals(Arrays.asList(LocalDate.of(2017, 3, 27)), bean.getList());
+    assertEquals(0, BATCHES.get());
+  }
+
+  public static class CountingTypeConverterFactory extends Jsr310TypeConverterFactory {
+    @Override
+    public void init(Configuration configuration) {
+      super.init(configuration);
+      add(LocalDate.class, LocalDateTypeConverter.class, () -> new LocalDateTypeConverter() {
+        @Override
+        public LocalDate[] convertAll(String[] inputs, Class<LocalDate> targetType, Collection<ValidationError> errors) {
+          BATCHES.incrementAndGet();
+          return super.convertAll(inputs, targetType, errors);
+        }
+
+        @Override
+        protected ResourceBundle getErrorMessageBundle() {
+          return new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+              return new Object[][] {};
+            }
+          };
+        }
+      });
+    }
+  }
+
+  @UrlBinding("/test/Dates.action")
+  public static class DatesActionBean implements ActionBean {
+    private ActionBeanContext context;
+
+    private List<LocalDate> list;
+
+    private LocalDate[] array;
+
+    @DefaultHandler
+    public Resolution submit() {
+      return null;
+    }
+
+    @Override
+    public ActionBeanContext getContext() {
+      return context;
+    }
+
+    @Override
+    public void setContext(ActionBeanContext context) {
+      this.context = context;
+    }
+
+    public List<LocalDate> getList() {
+      return list;
+    }
+
+    public void setList(List<LocalDate> list) {
+      this.list = list;
+    }
+
+    public LocalDate[] getArray() {
+      return array;
+    }
+
+    public void setArray(LocalDate[] array) {
+      this.array = array;
+    }
+  }
+}
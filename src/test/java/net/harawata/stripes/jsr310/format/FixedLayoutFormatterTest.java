@@ -0,0 +1,120 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FixedLayoutFormatterTest {
+
+  private static final String[] PATTERNS = { "yyyy-MM-dd", "yyyy/MM/dd", "uuuu-MM-dd", "yyyy-MM", "yyyy", "yyyyyy", "uuuu",
+      "yy-M-d", "uu.MM.dd", "d/M/yyyy", "HH:mm", "HH:mm:ss", "H:m:s", "HH:mm:ss.SSS", "S", "SSSSSSSSS",
+      "yyyy-MM-dd'T'HH:mm:ss", "yyyyMMddHHmmss", "d 'of' M ''yy", "'at' H'h'" };
+
+  private static final DateTimeFormatter[] PREDEFINED = { DateTimeFormatter.ISO_LOCAL_DATE,
+      DateTimeFormatter.ISO_LOCAL_TIME, DateTimeFormatter.ISO_LOCAL_DATE_TIME };
+
+  private static final int ITERATIONS = 100000;
+
+  @Test
+  public void shouldPrintSameAsDateTimeFormatter() throws Exception {
+    Random random = new Random(20170327L);
+    for (String pattern : PATTERNS) {
+      DateTimeFormatter source = DateTimeFormatter.ofPattern(pattern, Locale.US);
+      FixedLayoutFormatter formatter = FixedLayoutFormatter.of(pattern, source);
+      assertNotNull(pattern, formatter);
+      for (int i = 0; i < ITERATIONS; i++) {
+        LocalDateTime input = randomDateTime(random);
+        assertEquals(pattern + " " + input, source.format(input), formatter.format(input));
+      }
+    }
+    for (DateTimeFormatter source : PREDEFINED) {
+      FixedLayoutFormatter formatter = FixedLayoutFormatter.of(source);
+      assertNotNull(source.toString(), formatter);
+      for (int i = 0; i < ITERATIONS; i++) {
+        LocalDateTime input = randomDateTime(random);
+        assertEquals(source + " " + input, source.format(input), formatter.format(input));
+        StringBuilder buf = new StringBuilder("x");
+        assertTrue(formatter.formatTo(input, buf));
+        assertEquals("x" + source.format(input), buf.toString());
+      }
+    }
+  }
+
+  @Test
+  public void shouldRejectUnsupportedPatterns() throws Exception {
+    for (String pattern : new String[] { "MMM", "yyyy-MMM-dd", "EEE", "h:mm a", "yyy", "yyyy[-MM]", "HH:mm VV", "HHmmX", "D",
+        "'unterminated" }) {
+      assertNull(pattern, FixedLayoutFormatter.of(pattern, null));
+    }
+    assertNull(FixedLayoutFormatter.of(DateTimeFormatter.ISO_DATE));
+    assertNull(FixedLayoutFormatter.of(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+  }
+
+  @Test
+  public void shouldNotHandleUnsupportedFields() throws Exception {
+    FixedLayoutFormatter formatter = FixedLayoutFormatter.of("yyyy-MM-dd", DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+    assertNull(formatter.format(YearMonth.of(2017, 3)));
+    assertNull(formatter.format(LocalTime.of(12, 0)));
+    StringBuilder buf = new StringBuilder();
+    assertFalse(formatter.formatTo(YearMonth.of(2017, 3), buf));
+    assertEquals("", buf.toString());
+    assertEquals("2017-03-27", formatter.format(LocalDate.of(2017, 3, 27)));
+  }
+
+  @Test
+  public void shouldBeUsedByTemporalAccessorFormatter() throws Exception {
+    YearMonthFormatter formatter = new YearMonthFormatter();
+    formatter.setLocale(Locale.US);
+    formatter.setFormatPattern(YearMonthFormatter.DEFAULT_FORMAT_PATTERN);
+    formatter.init();
+    assertEquals("2017-03", formatter.format(YearMonth.of(2017, 3)));
+    assertEquals("+10000-12", formatter.format(YearMonth.of(10000, 12)));
+    StringBuilder buf = new StringBuilder();
+    formatter.formatTo(YearMonth.of(-5, 1), buf);
+    assertEquals("0006-01", buf.toString());
+  }
+
+  private static LocalDateTime randomDateTime(Random random) {
+    int year;
+    switch (random.nextInt(4)) {
+      case 0:
+        year = random.nextInt(2 * LocalDate.MAX.getYear() + 1) - LocalDate.MAX.getYear();
+        break;
+      case 1:
+        year = random.nextInt(20000) - 10000;
+        break;
+      default:
+        year = 1900 + random.nextInt(200);
+        break;
+    }
+    int unit = 1;
+    for (int i = random.nextInt(10); i > 0; i--) {
+      unit *= 10;
+    }
+    int nano = random.nextInt(1000000000) / unit * unit;
+    LocalDate date = LocalDate.ofYearDay(year, 1).plusDays(random.nextInt(LocalDate.ofYearDay(year, 1).lengthOfYear()));
+    LocalTime time = LocalTime.ofSecondOfDay(random.nextInt(86400)).withNano(nano);
+    return LocalDateTime.of(date, time);
+  }
+}
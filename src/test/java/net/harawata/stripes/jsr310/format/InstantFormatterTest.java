@@ -15,6 +15,7 @@ package net.harawata.stripes.jsr310.format;
 
 import static org.junit.Assert.*;
 
+import java.io.StringWriter;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -52,4 +53,36 @@ public class InstantFormatterTest {
     assertEquals(DateTimeFormatter.ofPattern(InstantFormatter.DEFAULT_FORMAT_PATTERN, Locale.US)
         .withZone(ZoneOffset.UTC).format(input), formatter.format(input));
   }
+
+  @Test
+  public void testIsoInstant() throws Exception {
+    formatter.setLocale(Locale.US);
+    formatter.setFormatPattern("iso_instant");
+    formatter.init();
+    Instant input = LocalDateTime.of(2017, 3, 11, 14, 34, 0, 120000000).atZone(ZoneOffset.UTC).toInstant();
+    assertEquals("2017-03-11T14:34:00.120Z", formatter.format(input));
+  }
+
+  @Test
+  public void testCustomPattern() throws Exception {
+    formatter.setLocale(Locale.US);
+    formatter.setFormatPattern("yyyy/MM/dd HH:mm");
+    formatter.init();
+    Instant input = LocalDateTime.of(2017, 3, 11, 14, 34).atZone(ZoneOffset.UTC).toInstant();
+    assertEquals("2017/03/11 14:34", formatter.format(input));
+  }
+
+  @Test
+  public void testFormatTo() throws Exception {
+    formatter.setLocale(Locale.US);
+    formatter.init();
+    Instant input = LocalDateTime.of(2017, 3, 11, 14, 34, 0, 120000000).atZone(ZoneOffset.UTC).toInstant();
+    StringWriter writer = new StringWriter();
+    formatter.formatTo(input, writer);
+    assertEquals(formatter.format(input), writer.toString());
+    Instant outOfRange = LocalDateTime.of(10000, 1, 1, 0, 0).atZone(ZoneOffset.UTC).toInstant();
+    StringBuilder builder = new StringBuilder();
+    formatter.formatTo(outOfRange, builder);
+    assertEquals(formatter.format(outOfRange), builder.toString());
+  }
 }
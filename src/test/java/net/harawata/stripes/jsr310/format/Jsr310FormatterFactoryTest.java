@@ -0,0 +1,138 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sourceforge.stripes.format.Formatter;
+
+public class Jsr310FormatterFactoryTest {
+  private static final ResourceBundle EMPTY_BUNDLE = new ListResourceBundle() {
+    @Override
+    protected Object[][] getContents() {
+      return new Object[][] {};
+    }
+  };
+
+  public static class TestLocalDateFormatter extends LocalDateFormatter {
+    @Override
+    protected ResourceBundle getErrorMessageBundle() {
+      return EMPTY_BUNDLE;
+    }
+  }
+
+  public static class TestYearFormatter extends YearFormatter {
+    @Override
+    protected ResourceBundle getErrorMessageBundle() {
+      return EMPTY_BUNDLE;
+    }
+  }
+
+  private Jsr310FormatterFactory factory;
+
+  @Before
+  public void setUp() throws Exception {
+    factory = new Jsr310FormatterFactory();
+    factory.init(null);
+    factory.add(LocalDate.class, TestLocalDateFormatter.class, TestLocalDateFormatter::new);
+    factory.add(Year.class, TestYearFormatter.class, TestYearFormatter::new);
+  }
+
+  @Test
+  public void shouldReuseInitializedFormatter() throws Exception {
+    Formatter<?> formatter = factory.getFormatter(LocalDate.class, Locale.US, null, "yyyy/MM/dd");
+    assertTrue(formatter instanceof TestLocalDateFormatter);
+    assertSame(formatter, factory.getFormatter(LocalDate.class, Locale.US, null, "yyyy/MM/dd"));
+    assertNotSame(formatter, factory.getFormatter(LocalDate.class, Locale.US, null, "yyyy-MM-dd"));
+    assertNotSame(formatter, factory.getFormatter(LocalDate.class, Locale.UK, null, "yyyy/MM/dd"));
+    assertNotSame(formatter, factory.getFormatter(LocalDate.class, Locale.US, "date", "yyyy/MM/dd"));
+    assertNotSame(formatter, factory.getFormatter(Year.class, Locale.US, null, "yyyy/MM/dd"));
+    assertEquals("2017/04/27", ((TestLocalDateFormatter) formatter).format(LocalDate.of(2017, 4, 27)));
+  }
+
+  @Test
+  public void shouldRespectCacheSize() throws Exception {
+    factory.setCacheSize(1);
+    Formatter<?> first = factory.getFormatter(Year.class, Locale.US, null, "yyyy");
+    assertSame(first, factory.getFormatter(Year.class, Locale.US, null, "yyyy"));
+    factory.getFormatter(Year.class, Locale.US, null, "yy");
+    assertNotSame("Should be evicted", first, factory.getFormatter(Year.class, Locale.US, null, "yyyy"));
+  }
+
+  @Test
+  public void shouldClearCache() throws Exception {
+    Formatter<?> first = factory.getFormatter(Year.class, Locale.US, null, "yyyy");
+    factory.clearCache();
+    assertNotSame(first, factory.getFormatter(Year.class, Locale.US, null, "yyyy"));
+  }
+
+  @Test
+  public void shouldDiscardCacheWhenNamedFormatterIsReplaced() throws Exception {
+    LocalDate date = LocalDate.of(2017, 4, 27);
+    try {
+      NamedFormatters.register("test_date", DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+      TestLocalDateFormatter formatter = (TestLocalDateFormatter) factory.getFormatter(LocalDate.class, Locale.US, null,
+          "test_date");
+      assertEquals("2017/04/27", formatter.format(date));
+      NamedFormatters.register("test_date", DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+      formatter = (TestLocalDateFormatter) factory.getFormatter(LocalDate.class, Locale.US, null, "test_date");
+      assertEquals("27.04.2017", formatter.format(date));
+    } finally {
+      NamedFormatters.unregister("test_date");
+    }
+  }
+
+  @Test
+  public void shouldNotCacheIfCacheSizeIsZero() throws Exception {
+    factory.setCacheSize(0);
+    assertNotSame(factory.getFormatter(Year.class, Locale.US, null, "yyyy"),
+        factory.getFormatter(Year.class, Locale.US, null, "yyyy"));
+  }
+
+  @Test
+  public void shouldNotChangeSharedFormatter() throws Exception {
+    TestLocalDateFormatter formatter = (TestLocalDateFormatter) factory.getFormatter(LocalDate.class, Locale.US, null,
+        "yyyy/MM/dd");
+    formatter.setFormatPattern("yyyy/MM/dd");
+    formatter.setLocale(Locale.US);
+    Assertions.assertThatThrownBy(() -> formatter.setFormatPattern("yyyy-MM-dd"))
+        .isInstanceOf(IllegalStateException.class);
+    Assertions.assertThatThrownBy(() -> formatter.setLocale(Locale.UK)).isInstanceOf(IllegalStateException.class);
+    Assertions.assertThatThrownBy(() -> formatter.setFormatType("time")).isInstanceOf(IllegalStateException.class);
+    Assertions.assertThatThrownBy(formatter::init).isInstanceOf(IllegalStateException.class);
+    assertSame(formatter, factory.getFormatter(LocalDate.class, Locale.US, null, "yyyy/MM/dd"));
+    assertEquals("2017/04/27", formatter.format(LocalDate.of(2017, 4, 27)));
+  }
+
+  @Test
+  public void shouldNotShareUncachedFormatter() throws Exception {
+    factory.setCacheSize(0);
+    TestLocalDateFormatter formatter = (TestLocalDateFormatter) factory.getFormatter(LocalDate.class, Locale.US, null,
+        "yyyy/MM/dd");
+    formatter.setFormatPattern("yyyy-MM-dd");
+    formatter.init();
+    assertEquals("2017-04-27", formatter.format(LocalDate.of(2017, 4, 27)));
+  }
+}
@@ -97,4 +97,61 @@ public class MonthFormatterTest {
         DateTimeFormatter.ofPattern(MonthFormatter.DEFAULT_FORMAT_PATTERN).withLocale(Locale.US).format(input),
         formatter.format(input));
   }
+
+  @Test
+  public void shouldFormatAllMonthsSameAsDateTimeFormatter() throws Exception {
+    for (Locale locale : new Locale[] { Locale.US, Locale.FRANCE, Locale.JAPAN, new Locale("ru", "RU") }) {
+      for (String pattern : new String[] { "MMMM", "MMM", "LLLL", "MM", "M'月'" }) {
+        formatter.setLocale(locale);
+        formatter.setFormatPattern(pattern);
+        formatter.init();
+        DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern, locale);
+        for (Month month : Month.values()) {
+          assertEquals(expected.format(month), formatter.format(month));
+          StringBuilder buf = new StringBuilder();
+          formatter.formatTo(month, buf);
+          assertEquals(expected.format(month), buf.toString());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void shouldBoundCachedNames() throws Exception {
+    formatter.setLocale(Locale.US);
+    for (int i = 0; i < MonthFormatter.NAMES_CACHE_SIZE * 2; i++) {
+      formatter.setFormatPattern("MMM'" + i + "'");
+      formatter.init();
+      assertEquals("May" + i, formatter.format(Month.MAY));
+      assertTrue(MonthFormatter.getNamesCount() <= MonthFormatter.NAMES_CACHE_SIZE);
+    }
+  }
+
+  @Test
+  public void shouldUseFormatterReplacedBySubclass() throws Exception {
+    MonthFormatter replaced = new MonthFormatter() {
+      @Override
+      public void init() {
+        super.init();
+        formatter = DateTimeFormatter.ofPattern("MMMM", Locale.US);
+      }
+
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] {};
+          }
+        };
+      }
+    };
+    replaced.setLocale(Locale.US);
+    replaced.setFormatPattern("MMM");
+    replaced.init();
+    assertEquals("January", replaced.format(Month.JANUARY));
+    StringBuilder buf = new StringBuilder();
+    replaced.formatTo(Month.JANUARY, buf);
+    assertEquals("January", buf.toString());
+  }
 }
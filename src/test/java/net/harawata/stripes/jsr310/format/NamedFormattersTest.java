@@ -0,0 +1,95 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.format;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+
+public class NamedFormattersTest {
+  @After
+  public void tearDown() {
+    NamedFormatters.unregister("slash_date");
+  }
+
+  @Test
+  public void shouldContainPredefinedConstants() throws Exception {
+    assertEquals(DateTimeFormatter.ISO_LOCAL_DATE, NamedFormatters.get("iso_local_date"));
+    assertEquals(DateTimeFormatter.RFC_1123_DATE_TIME, NamedFormatters.get("RFC_1123_Date_Time"));
+    assertEquals(15, NamedFormatters.getAll().size());
+    assertNull(NamedFormatters.get("medium"));
+    assertNull(NamedFormatters.get(""));
+    assertNull(NamedFormatters.get(null));
+  }
+
+  @Test
+  public void shouldRegisterCustomFormatter() throws Exception {
+    DateTimeFormatter slashDate = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    NamedFormatters.register("SLASH_DATE", slashDate);
+    assertSame(slashDate, NamedFormatters.get("slash_date"));
+
+    LocalDateFormatter formatter = new LocalDateFormatter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] {};
+          }
+        };
+      }
+    };
+    formatter.setLocale(Locale.US);
+    formatter.setFormatPattern("slash_date");
+    formatter.init();
+    assertEquals("2017/04/27", formatter.format(LocalDate.of(2017, 4, 27)));
+
+    assertTrue(NamedFormatters.unregister("slash_date"));
+    assertNull(NamedFormatters.get("slash_date"));
+  }
+
+  @Test
+  public void shouldNotReplacePredefinedConstants() throws Exception {
+    Assertions.assertThatThrownBy(() -> NamedFormatters.register("iso_date", DateTimeFormatter.BASIC_ISO_DATE))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertFalse(NamedFormatters.unregister("ISO_DATE"));
+    assertEquals(DateTimeFormatter.ISO_DATE, NamedFormatters.get("iso_date"));
+  }
+
+  @Test
+  public void shouldNotShadowFormatStyle() throws Exception {
+    Assertions.assertThatThrownBy(() -> NamedFormatters.register("Short", DateTimeFormatter.BASIC_ISO_DATE))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertNull(NamedFormatters.get("short"));
+  }
+
+  @Test
+  public void shouldCountModifications() throws Exception {
+    long count = NamedFormatters.getModificationCount();
+    NamedFormatters.register("slash_date", DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+    assertEquals(count + 1, NamedFormatters.getModificationCount());
+    assertFalse(NamedFormatters.unregister("iso_date"));
+    assertEquals(count + 1, NamedFormatters.getModificationCount());
+    assertTrue(NamedFormatters.unregister("slash_date"));
+    assertEquals(count + 2, NamedFormatters.getModificationCount());
+  }
+}
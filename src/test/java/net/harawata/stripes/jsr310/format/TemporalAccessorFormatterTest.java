@@ -15,8 +15,11 @@ package net.harawata.stripes.jsr310.format;
 
 import static org.junit.Assert.*;
 
+import java.io.StringWriter;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.util.Locale;
 
 import org.junit.Test;
 
@@ -40,4 +43,42 @@ public class TemporalAccessorFormatterTest {
     assertNull(TemporalAccessorFormatter.resolveFormatStyle("NoSuchStyle"));
     assertNull(TemporalAccessorFormatter.resolveFormatStyle(null));
   }
+
+  @Test
+  public void testFormatTo() throws Exception {
+    LocalDateFormatter formatter = new LocalDateFormatter();
+    formatter.setLocale(Locale.US);
+    formatter.setFormatPattern("yyyy/MM/dd");
+    formatter.init();
+    LocalDate input = LocalDate.of(2017, 3, 27);
+
+    StringBuilder builder = new StringBuilder("[");
+    formatter.formatTo(input, builder);
+    assertEquals("[2017/03/27", builder.toString());
+
+    StringWriter writer = new StringWriter();
+    formatter.formatTo(input, writer);
+    formatter.formatTo(input, writer);
+    assertEquals("2017/03/272017/03/27", writer.toString());
+
+    StringBuffer buffer = new StringBuffer();
+    formatter.formatTo(input, buffer);
+    assertEquals("2017/03/27", buffer.toString());
+  }
+
+  @Test
+  public void testFormatToLongOutput() throws Exception {
+    LocalDateFormatter formatter = new LocalDateFormatter();
+    formatter.setLocale(Locale.US);
+    StringBuilder pattern = new StringBuilder();
+    for (int i = 0; i < 300; i++) {
+      pattern.append("yyyy-MM-dd ");
+    }
+    formatter.setFormatPattern(pattern.toString());
+    formatter.init();
+    LocalDate input = LocalDate.of(2017, 3, 27);
+    StringWriter writer = new StringWriter();
+    formatter.formatTo(input, writer);
+    assertEquals(formatter.format(input), writer.toString());
+  }
 }
@@ -97,4 +97,93 @@ public class YearFormatterTest {
         DateTimeFormatter.ofPattern(YearFormatter.DEFAULT_FORMAT_PATTERN).withLocale(Locale.US).format(input),
         formatter.format(input));
   }
+
+  @Test
+  public void shouldFormatSameAsDateTimeFormatter() throws Exception {
+    for (String pattern : new String[] { "yyyy", "yy", "y", "uuuu", "G yyyy", "yyyy'年'" }) {
+      formatter.setLocale(Locale.JAPAN);
+      formatter.setFormatPattern(pattern);
+      formatter.init();
+      DateTimeFormatter expected = DateTimeFormatter.ofPattern(pattern, Locale.JAPAN);
+      for (int year = 1800; year <= 2200; year++) {
+        Year input = Year.of(year);
+        assertEquals(expected.format(input), formatter.format(input));
+        StringBuilder buf = new StringBuilder();
+        formatter.formatTo(input, buf);
+        assertEquals(expected.format(input), buf.toString());
+      }
+    }
+  }
+
+  @Test
+  public void shouldUseConfiguredTableRange() throws Exception {
+    formatter = new YearFormatter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] { { YearFormatter.KEY_TABLE_RANGE, "2000 - 2009" } };
+          }
+        };
+      }
+    };
+    formatter.setLocale(Locale.US);
+    formatter.init();
+    assertEquals(2000, formatter.tableMin);
+    assertEquals(10, formatter.table.length);
+    assertEquals("2009", formatter.format(Year.of(2009)));
+    assertEquals("2010", formatter.format(Year.of(2010)));
+    assertEquals("1999", formatter.format(Year.of(1999)));
+  }
+
+  @Test
+  public void shouldBoundCachedTables() throws Exception {
+    formatter.setLocale(Locale.US);
+    for (int i = 0; i < YearFormatter.TABLE_CACHE_SIZE * 2; i++) {
+      formatter.setFormatPattern("yyyy'" + i + "'");
+      formatter.init();
+      assertEquals("2017" + i, formatter.format(Year.of(2017)));
+      assertTrue(YearFormatter.getTableCount() <= YearFormatter.TABLE_CACHE_SIZE);
+    }
+  }
+
+  @Test
+  public void shouldCacheFormatterWithoutTable() throws Exception {
+    formatter.setLocale(Locale.US);
+    formatter.setFormatPattern("short");
+    formatter.setFormatType("date");
+    formatter.init();
+    int count = YearFormatter.getTableCount();
+    formatter.init();
+    assertEquals(count, YearFormatter.getTableCount());
+    assertNull(formatter.table);
+  }
+
+  @Test
+  public void shouldUseFormatterReplacedBySubclass() throws Exception {
+    YearFormatter replaced = new YearFormatter() {
+      @Override
+      public void init() {
+        super.init();
+        formatter = DateTimeFormatter.ofPattern("yy", Locale.US);
+      }
+
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] {};
+          }
+        };
+      }
+    };
+    replaced.setLocale(Locale.US);
+    replaced.init();
+    assertEquals("17", replaced.format(Year.of(2017)));
+    StringBuilder buf = new StringBuilder();
+    replaced.formatTo(Year.of(2017), buf);
+    assertEquals("17", buf.toString());
+  }
 }
@@ -0,0 +1,447 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.tag;
+
+import static org.junit.Assert.*;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import javax.el.ELContext;
+import javax.servlet.Servlet;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.jsp.JspWriter;
+import javax.servlet.jsp.PageContext;
+import javax.servlet.jsp.tagext.Tag;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import net.harawata.stripes.jsr310.format.Jsr310FormatterFactory;
+import net.harawata.stripes.jsr310.format.LocalDateFormatter;
+import net.harawata.stripes.jsr310.format.TemporalAccessorFormatter;
+import net.sourceforge.stripes.config.Configuration;
+import net.sourceforge.stripes.controller.StripesFilter;
+import net.sourceforge.stripes.format.Formatter;
+import net.sourceforge.stripes.mock.MockHttpServletRequest;
+import net.sourceforge.stripes.mock.MockServletContext;
+
+public class FormatTagTest {
+  private MockServletContext context;
+
+  @Before
+  public void setUp() {
+    context = new MockServletContext("test");
+    Map<String, String> params = new HashMap<>();
+    params.put("ActionResolver.Packages", "net.harawata.stripes.jsr310.tag");
+    params.put("FormatterFactory.Class", TestFormatterFactory.class.getName());
+    context.addFilter(StripesFilter.class, "StripesFilter", params);
+  }
+
+  @After
+  public void tearDown() {
+    context.close();
+  }
+
+  @Test
+  public void shouldWriteSameAsFormatter() throws Exception {
+    LocalDate value = LocalDate.of(2017, 3, 27);
+    for (String pattern : new String[] { null, "short", "ISO_LOCAL_DATE", "yyyy/MM/dd" }) {
+      Formatter<?> formatter = StripesFilter.getConfiguration().getFormatterFactory().getFormatter(LocalDate.class, Locale.US,
+          null, pattern);
+      assertTrue("Written directly", formatter instanceof TemporalAccessorFormatter);
+      assertEquals(pattern, format(formatter, value), render(new FormatTag(), value, pattern));
+    }
+  }
+
+  @Test
+  public void shouldFallBackToParentTag() throws Exception {
+    for (Object value : new Object[] { DayOfWeek.MONDAY, 42, "text" }) {
+      assertEquals(render(new net.sourceforge.stripes.tag.FormatTag(), value, null), render(new FormatTag(), value, null));
+    }
+  }
+
+  @Test
+  public void shouldDeclareTagAttributes() throws Exception {
+    Document tld;
+    try (InputStream in = getClass().getClassLoader().getResourceAsStream("META-INF/stripes-jsr310.tld")) {
+      tld = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in);
+    }
+    Element tag = (Element) tld.getElementsByTagName("tag").item(0);
+    assertEquals(FormatTag.class.getName(), tag.getElementsByTagName("tag-class").item(0).getTextContent().trim());
+    BeanInfo beanInfo = Introspector.getBeanInfo(FormatTag.class);
+    NodeList attributes = tag.getElementsByTagName("attribute");
+    assertEquals(5, attributes.getLength());
+    for (int i = 0; i < attributes.getLength(); i++) {
+      String name = ((Element) attributes.item(i)).getElementsByTagName("name").item(0).getTextContent().trim();
+      boolean writable = false;
+      for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
+        writable |= property.getName().equals(name) && property.getWriteMethod() != null;
+      }
+      assertTrue(name, writable);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> String format(Formatter<T> formatter, Object value) {
+    return formatter.format((T) value);
+  }
+
+  private static String render(net.sourceforge.stripes.tag.FormatTag tag, Object value, String pattern) throws Exception {
+    TestPageContext pageContext = new TestPageContext();
+    tag.setPageContext(pageContext);
+    tag.setValue(value);
+    tag.setFormatPattern(pattern);
+    tag.doStartTag();
+    assertEquals(Tag.EVAL_PAGE, tag.doEndTag());
+    return pageContext.out.buffer.toString();
+  }
+
+  public static class TestFormatterFactory extends Jsr310FormatterFactory {
+    @Override
+    public void init(Configuration configuration) throws Exception {
+      super.init(configuration);
+      add(LocalDate.class, LocalDateFormatter.class, () -> new LocalDateFormatter() {
+        @Override
+        protected ResourceBundle getErrorMessageBundle() {
+          return new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+              return new Object[][] {};
+            }
+          };
+        }
+      });
+    }
+  }
+
+  private static class TestJspWriter extends JspWriter {
+    private final StringWriter buffer = new StringWriter();
+
+    TestJspWriter() {
+      super(0, true);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+      buffer.write(cbuf, off, len);
+    }
+
+    @Override
+    public void newLine() {
+      buffer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void print(boolean b) {
+      buffer.write(String.valueOf(b));
+    }
+
+    @Override
+    public void print(char c) {
+      buffer.write(c);
+    }
+
+    @Override
+    public void print(int i) {
+      buffer.write(String.valueOf(i));
+    }
+
+    @Override
+    public void print(long l) {
+      buffer.write(String.valueOf(l));
+    }
+
+    @Override
+    public void print(float f) {
+      buffer.write(String.valueOf(f));
+    }
+
+    @Override
+    public void print(double d) {
+      buffer.write(String.valueOf(d));
+    }
+
+    @Override
+    public void print(char[] s) {
+      buffer.write(s, 0, s.length);
+    }
+
+    @Override
+    public void print(String s) {
+      buffer.write(String.valueOf(s));
+    }
+
+    @Override
+    public void print(Object obj) {
+      buffer.write(String.valueOf(obj));
+    }
+
+    @Override
+    public void println() {
+      newLine();
+    }
+
+    @Override
+    public void println(boolean x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(char x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(int x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(long x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(float x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(double x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(char[] x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(String x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void println(Object x) {
+      print(x);
+      newLine();
+    }
+
+    @Override
+    public void clear() {
+      buffer.getBuffer().setLength(0);
+    }
+
+    @Override
+    public void clearBuffer() {
+      clear();
+    }
+
+    @Override
+    public void flush() {
+      // Nothing is buffered.
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release.
+    }
+
+    @Override
+    public int getRemaining() {
+      return 0;
+    }
+  }
+
+  private static class TestPageContext extends PageContext {
+    private final TestJspWriter out = new TestJspWriter();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("/test", "/test.jsp");
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    TestPageContext() {
+      request.addLocale(Locale.US);
+    }
+
+    @Override
+    public void initialize(Servlet servlet, ServletRequest request, ServletResponse response, String errorPageURL, boolean needsSession,
+        int bufferSize, boolean autoFlush) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void release() {
+      attributes.clear();
+    }
+
+    @Override
+    public HttpSession getSession() {
+      return null;
+    }
+
+    @Override
+    public Object getPage() {
+      return null;
+    }
+
+    @Override
+    public ServletRequest getRequest() {
+      return request;
+    }
+
+    @Override
+    public ServletResponse getResponse() {
+      return null;
+    }
+
+    @Override
+    public Exception getException() {
+      return null;
+    }
+
+    @Override
+    public ServletConfig getServletConfig() {
+      return null;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+      return null;
+    }
+
+    @Override
+    public void forward(String relativeUrlPath) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void include(String relativeUrlPath) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void include(String relativeUrlPath, boolean flush) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void handlePageException(Exception e) {
+      throw new UnsupportedOperationException(e);
+    }
+
+    @Override
+    public void handlePageException(Throwable t) {
+      throw new UnsupportedOperationException(t);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+      attributes.put(name, value);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value, int scope) {
+      attributes.put(name, value);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+      return attributes.get(name);
+    }
+
+    @Override
+    public Object getAttribute(String name, int scope) {
+      return attributes.get(name);
+    }
+
+    @Override
+    public Object findAttribute(String name) {
+      return attributes.get(name);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+      attributes.remove(name);
+    }
+
+    @Override
+    public void removeAttribute(String name, int scope) {
+      attributes.remove(name);
+    }
+
+    @Override
+    public int getAttributesScope(String name) {
+      return attributes.containsKey(name) ? PAGE_SCOPE : 0;
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNamesInScope(int scope) {
+      return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public JspWriter getOut() {
+      return out;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public javax.servlet.jsp.el.ExpressionEvaluator getExpressionEvaluator() {
+      return null;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public javax.servlet.jsp.el.VariableResolver getVariableResolver() {
+      return null;
+    }
+
+    @Override
+    public ELContext getELContext() {
+      return null;
+    }
+  }
+}
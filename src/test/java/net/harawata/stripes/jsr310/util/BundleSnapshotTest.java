@@ -0,0 +1,70 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import static org.junit.Assert.*;
+
+import java.util.ListResourceBundle;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+public class BundleSnapshotTest {
+  private static ResourceBundle bundle(Object[][] contents) {
+    return new ListResourceBundle() {
+      @Override
+      protected Object[][] getContents() {
+        return contents;
+      }
+    };
+  }
+
+  @Test
+  public void shouldCopyStripesEntries() throws Exception {
+    BundleSnapshot snapshot = BundleSnapshot.of(bundle(new Object[][] {
+        { "stripes.localDateTypeConverter.patterns", "d M y" },
+        { "converter.localDate.invalidInput", "invalid" } }));
+    assertEquals("d M y", snapshot.get("stripes.localDateTypeConverter.patterns"));
+    assertTrue(snapshot.contains("stripes.localDateTypeConverter.patterns"));
+    assertNull("Only stripes.* entries are copied", snapshot.get("converter.localDate.invalidInput"));
+    assertNull(snapshot.get("stripes.localTimeTypeConverter.patterns"));
+    assertFalse(snapshot.contains("stripes.localTimeTypeConverter.patterns"));
+  }
+
+  @Test
+  public void shouldReuseSnapshotOfSameBundle() throws Exception {
+    ResourceBundle bundle = bundle(new Object[][] { { "stripes.yearFormatter.defaultFormatPattern", "yy" } });
+    BundleSnapshot snapshot = BundleSnapshot.of(bundle);
+    assertSame(snapshot, BundleSnapshot.of(bundle));
+    assertNotSame("Each bundle instance has its own snapshot", snapshot,
+        BundleSnapshot.of(bundle(new Object[][] { { "stripes.yearFormatter.defaultFormatPattern", "yy" } })));
+    BundleSnapshot.clear();
+    BundleSnapshot newSnapshot = BundleSnapshot.of(bundle);
+    assertNotSame(snapshot, newSnapshot);
+    assertEquals("yy", newSnapshot.get("stripes.yearFormatter.defaultFormatPattern"));
+  }
+
+  @Test
+  public void shouldDeriveValueOnce() throws Exception {
+    BundleSnapshot snapshot = BundleSnapshot.of(bundle(new Object[][] { { "stripes.temporalAccessorTypeConverter.memoSize", "10" } }));
+    int[] calls = { 0 };
+    for (int i = 0; i < 3; i++) {
+      assertEquals(Integer.valueOf(10), snapshot.derive("memoSize", b -> {
+        calls[0]++;
+        return Integer.valueOf(b.get("stripes.temporalAccessorTypeConverter.memoSize"));
+      }));
+    }
+    assertEquals(1, calls[0]);
+  }
+}
@@ -0,0 +1,102 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import static org.junit.Assert.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+public class CurrentYearProviderTest {
+  private static class MutableClock extends Clock {
+    private final ZoneId zone;
+
+    private Instant instant;
+
+    private int reads;
+
+    MutableClock(Instant instant, ZoneId zone) {
+      this.instant = instant;
+      this.zone = zone;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return new MutableClock(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+      reads++;
+      return instant;
+    }
+  }
+
+  @Test
+  public void shouldReturnYearOfClock() throws Exception {
+    CurrentYearProvider provider = new CurrentYearProvider(
+      Clock.fixed(Instant.parse("2017-03-27T00:00:00Z"), ZoneOffset.UTC));
+    assertEquals(2017, provider.getYear());
+  }
+
+  @Test
+  public void shouldUseZoneOfClock() throws Exception {
+    Instant instant = Instant.parse("2016-12-31T20:00:00Z");
+    assertEquals(2016, new CurrentYearProvider(Clock.fixed(instant, ZoneOffset.UTC)).getYear());
+    assertEquals(2017, new CurrentYearProvider(Clock.fixed(instant, ZoneId.of("Asia/Tokyo"))).getYear());
+  }
+
+  @Test
+  public void shouldReadYearAtMostOncePerSecond() throws Exception {
+    MutableClock clock = new MutableClock(Instant.parse("2017-03-27T00:00:00Z"), ZoneOffset.UTC);
+    CurrentYearProvider provider = new CurrentYearProvider(clock);
+    assertEquals(2017, provider.getYear());
+    int reads = clock.reads;
+    for (int i = 0; i < 100; i++) {
+      assertEquals(2017, provider.getYear());
+    }
+    // Only the millis are read while the cached year is valid.
+    assertEquals(reads + 100, clock.reads);
+    clock.instant = clock.instant.plusMillis(1000L);
+    assertEquals(2017, provider.getYear());
+    assertTrue(clock.reads > reads + 101);
+  }
+
+  @Test
+  public void shouldRefreshAtYearRollover() throws Exception {
+    MutableClock clock = new MutableClock(Instant.parse("2017-12-31T23:59:59.900Z"), ZoneOffset.UTC);
+    CurrentYearProvider provider = new CurrentYearProvider(clock);
+    assertEquals(2017, provider.getYear());
+    clock.instant = Instant.parse("2018-01-01T00:00:00Z");
+    assertEquals(2018, provider.getYear());
+  }
+
+  @Test
+  public void shouldRefreshWhenClockGoesBack() throws Exception {
+    MutableClock clock = new MutableClock(Instant.parse("2018-01-01T00:00:00Z"), ZoneOffset.UTC);
+    CurrentYearProvider provider = new CurrentYearProvider(clock);
+    assertEquals(2018, provider.getYear());
+    clock.instant = Instant.parse("2017-12-31T23:59:59.999Z");
+    assertEquals(2017, provider.getYear());
+  }
+}
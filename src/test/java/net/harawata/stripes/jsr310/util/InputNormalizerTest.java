@@ -0,0 +1,57 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.validation.TemporalAccessorTypeConverter;
+
+public class InputNormalizerTest {
+  private static String regex(String input) {
+    return TemporalAccessorTypeConverter.PRE_PROCESS_PATTERN.matcher(input).replaceAll(" ").trim();
+  }
+
+  @Test
+  public void shouldNormalize() throws Exception {
+    assertEquals("2017 3 27", InputNormalizer.normalize("2017/3/27"));
+    assertEquals("2017 03 27 13 47 29 789", InputNormalizer.normalize(" 2017-03-27T13:47:29.789 "));
+    assertEquals("MAR 27 2017", InputNormalizer.normalize("MAR 27, 2017"));
+    assertEquals("Tue 27 T 1", InputNormalizer.normalize("Tue 27 T 1"));
+    assertEquals("", InputNormalizer.normalize(" ,/ "));
+  }
+
+  @Test
+  public void shouldReturnInputIfUnchanged() throws Exception {
+    String input = "thursday 4 May 2017";
+    assertSame(input, InputNormalizer.normalize(input));
+  }
+
+  @Test
+  public void shouldBeEquivalentToRegex() throws Exception {
+    char[] alphabet = "0123456789Tt ,/:.-\t\n\u000B\f\r\u0001aZ".toCharArray();
+    Random random = new Random(20170327L);
+    for (int i = 0; i < 200000; i++) {
+      char[] chars = new char[random.nextInt(12)];
+      for (int j = 0; j < chars.length; j++) {
+        chars[j] = alphabet[random.nextInt(alphabet.length)];
+      }
+      String input = new String(chars);
+      assertEquals(input, regex(input), InputNormalizer.normalize(input));
+    }
+  }
+}
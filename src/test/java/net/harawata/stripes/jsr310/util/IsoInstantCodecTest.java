@@ -0,0 +1,152 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import static org.junit.Assert.*;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.format.InstantFormatter;
+
+public class IsoInstantCodecTest {
+  private static final long MIN_SECOND = Instant.parse("0001-01-02T00:00:00Z").getEpochSecond();
+
+  private static final long MAX_SECOND = Instant.parse("9999-12-30T23:59:59Z").getEpochSecond();
+
+  private static Instant randomInstant(Random random) {
+    long second = MIN_SECOND + (long) (random.nextDouble() * (MAX_SECOND - MIN_SECOND));
+    int nano;
+    switch (random.nextInt(4)) {
+      case 0:
+        nano = 0;
+        break;
+      case 1:
+        nano = random.nextInt(1000) * 1000000;
+        break;
+      case 2:
+        nano = random.nextInt(1000000) * 1000;
+        break;
+      default:
+        nano = random.nextInt(1000000000);
+    }
+    return Instant.ofEpochSecond(second, nano);
+  }
+
+  @Test
+  public void shouldParse() throws Exception {
+    assertEquals(Instant.ofEpochMilli(1483228800000L), IsoInstantCodec.parse("2017-01-01T00:00:00.000Z"));
+    assertEquals(Instant.ofEpochMilli(1483228800000L), IsoInstantCodec.parse("2017-01-01T00:00:00Z"));
+    assertEquals(Instant.ofEpochMilli(1483228800000L), IsoInstantCodec.parse("2017-01-01t00:00:00z"));
+    assertEquals(Instant.ofEpochSecond(1483228800L, 123456789), IsoInstantCodec.parse("2017-01-01T00:00:00.123456789Z"));
+    assertEquals(Instant.ofEpochSecond(1483228800L, 100000000), IsoInstantCodec.parse("2017-01-01T00:00:00.1Z"));
+  }
+
+  @Test
+  public void shouldReturnNullForUnsupportedInput() throws Exception {
+    assertNull(IsoInstantCodec.parse("2017-02-29T00:00:00Z"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T24:00:00Z"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00:00"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00:00."));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00:00.Z"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00:00.1234567890Z"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00:00+0900"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00Z"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T09:00:00+09:00"));
+    assertNull(IsoInstantCodec.parse("2016-12-31T23:59:60Z"));
+    assertNull(IsoInstantCodec.parse("2017/01/01T00:00:00Z"));
+    assertNull(IsoInstantCodec.parse("+12017-01-01T00:00:00Z"));
+    assertNull(IsoInstantCodec.parse("2017-01-01T00:00:00Zx"));
+  }
+
+  @Test
+  public void shouldParseSameAsJdk() throws Exception {
+    Random random = new Random(20170101L);
+    for (int i = 0; i < 200000; i++) {
+      Instant instant = randomInstant(random);
+      String text = DateTimeFormatter.ISO_INSTANT.format(instant);
+      assertEquals(text, instant, IsoInstantCodec.parse(text));
+    }
+  }
+
+  @Test
+  public void shouldNotAcceptWhatJdkRejects() throws Exception {
+    String[] inputs = { "2017-01-01T00:00Z", "2017-01-01T00:00:00+09:00", "2017-01-01T00:00:00-00:30", "2017-01-01T00:00:00+18:00",
+        "2016-12-31T23:59:60Z", "2017-01-01T24:00:00Z", "2017-01-01T00:00:00.Z", "2017-01-01T00:00:00,1Z", "2017-01-01 00:00:00Z",
+        "2017-1-01T00:00:00Z", "0000-01-01T00:00:00Z", "2017-01-01T00:00:00", "2017-01-01T00:00:00ZZ", "2017-01-01t00:00:00z" };
+    for (String input : inputs) {
+      assertParsedSameAsJdk(input);
+    }
+    // Random edits of valid inputs.
+    Random random = new Random(20171018L);
+    String chars = "0123456789-:.TZtz+ ";
+    for (int i = 0; i < 200000; i++) {
+      StringBuilder text = new StringBuilder(DateTimeFormatter.ISO_INSTANT.format(randomInstant(random)));
+      int pos = random.nextInt(text.length());
+      switch (random.nextInt(3)) {
+        case 0:
+          text.deleteCharAt(pos);
+          break;
+        case 1:
+          text.insert(pos, chars.charAt(random.nextInt(chars.length())));
+          break;
+        default:
+          text.setCharAt(pos, chars.charAt(random.nextInt(chars.length())));
+      }
+      assertParsedSameAsJdk(text.toString());
+    }
+  }
+
+  /**
+   * The codec may return <code>null</code> for an input the JDK accepts (the caller falls back to the JDK), but must never accept an input
+   * the JDK rejects nor return a different instant.
+   */
+  private static void assertParsedSameAsJdk(String text) {
+    Instant actual = IsoInstantCodec.parse(text);
+    if (actual == null) {
+      return;
+    }
+    Instant expected;
+    try {
+      expected = DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from);
+    } catch (DateTimeException e) {
+      expected = null;
+    }
+    assertEquals(text, expected, actual);
+  }
+
+  @Test
+  public void shouldFormatSameAsJdk() throws Exception {
+    DateTimeFormatter millis = DateTimeFormatter.ofPattern(InstantFormatter.DEFAULT_FORMAT_PATTERN, Locale.US)
+        .withZone(ZoneOffset.UTC);
+    Random random = new Random(20170311L);
+    for (int i = 0; i < 200000; i++) {
+      Instant instant = randomInstant(random);
+      assertEquals(millis.format(instant), IsoInstantCodec.formatMillis(instant));
+      assertEquals(DateTimeFormatter.ISO_INSTANT.format(instant), IsoInstantCodec.formatIso(instant));
+    }
+  }
+
+  @Test
+  public void shouldReturnNullForUnsupportedYear() throws Exception {
+    assertNull(IsoInstantCodec.formatMillis(Instant.parse("+10000-01-01T00:00:00Z")));
+    assertNull(IsoInstantCodec.formatIso(Instant.parse("0000-12-31T23:59:59Z")));
+  }
+}
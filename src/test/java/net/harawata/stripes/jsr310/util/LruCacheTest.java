@@ -0,0 +1,74 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class LruCacheTest {
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntry() throws Exception {
+    LruCache<String, Integer> cache = new LruCache<>(2, 0L, TimeUnit.SECONDS);
+    cache.put("a", 1);
+    cache.put("b", 2);
+    assertEquals(Integer.valueOf(1), cache.get("a"));
+    cache.put("c", 3);
+    assertEquals(2, cache.size());
+    assertNull(cache.get("b"));
+    assertEquals(Integer.valueOf(1), cache.get("a"));
+    assertEquals(Integer.valueOf(3), cache.get("c"));
+  }
+
+  @Test
+  public void shouldBoundSizeAcrossSegments() throws Exception {
+    LruCache<Integer, Integer> cache = new LruCache<>(100, 0L, TimeUnit.SECONDS);
+    for (int i = 0; i < 1000; i++) {
+      cache.put(i, i);
+    }
+    assertTrue(cache.size() <= 100);
+    assertEquals(Integer.valueOf(999), cache.get(999));
+  }
+
+  @Test
+  public void shouldExpireEntries() throws Exception {
+    AtomicLong now = new AtomicLong();
+    LruCache<String, Integer> cache = new LruCache<>(10, 60L, TimeUnit.SECONDS, now::get);
+    cache.put("a", 1);
+    now.set(TimeUnit.SECONDS.toNanos(59));
+    assertEquals(Integer.valueOf(1), cache.get("a"));
+    now.set(TimeUnit.SECONDS.toNanos(60));
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void shouldCountHitsAndMisses() throws Exception {
+    LruCache<String, Integer> cache = new LruCache<>(10, 0L, TimeUnit.SECONDS);
+    assertNull(cache.get("a"));
+    cache.put("a", 1);
+    cache.get("a");
+    cache.get("a");
+    assertEquals(2L, cache.getHitCount());
+    assertEquals(1L, cache.getMissCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void shouldRejectNonPositiveSize() throws Exception {
+    new LruCache<>(0, 0L, TimeUnit.SECONDS);
+  }
+}
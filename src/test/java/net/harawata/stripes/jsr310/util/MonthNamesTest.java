@@ -0,0 +1,100 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.util;
+
+import static org.junit.Assert.*;
+
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.validation.PatternChain;
+
+public class MonthNamesTest {
+
+  @Test
+  public void shouldParseNamesAndNumbers() throws Exception {
+    MonthNames names = MonthNames.of(Locale.US);
+    assertEquals(Month.FEBRUARY, names.parse("February"));
+    assertEquals(Month.FEBRUARY, names.parse("FEBRUARY"));
+    assertEquals(Month.FEBRUARY, names.parse("feb"));
+    assertEquals(Month.FEBRUARY, names.parse("2"));
+    assertEquals(Month.DECEMBER, names.parse("12"));
+    assertEquals(Month.JANUARY, names.parse("01"));
+    assertNull(names.parse(""));
+    assertNull(names.parse("0"));
+    assertNull(names.parse("13"));
+    assertNull(names.parse("febr"));
+    assertNull(names.parse("-2"));
+    assertSame(names, MonthNames.of(Locale.US));
+  }
+
+  @Test
+  public void shouldParseSameAsFormatters() throws Exception {
+    for (Locale locale : Locale.getAvailableLocales()) {
+      if (!locale.getCountry().isEmpty() || !locale.getVariant().isEmpty() || !locale.getScript().isEmpty()) {
+        // One locale per language is enough.
+        continue;
+      }
+      MonthNames names = MonthNames.of(locale);
+      List<DateTimeFormatter> formatters = new ArrayList<>();
+      for (String pattern : new String[] { "MMMM", "MMM", "M" }) {
+        formatters.add(new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(locale));
+      }
+      List<String> inputs = new ArrayList<>();
+      for (Month month : Month.values()) {
+        for (TextStyle style : TextStyle.values()) {
+          String name = month.getDisplayName(style, locale);
+          inputs.add(name);
+          inputs.add(name.toUpperCase(locale));
+          inputs.add(name.toLowerCase(locale));
+        }
+        inputs.add(String.valueOf(month.getValue()));
+      }
+      inputs.add("0");
+      inputs.add("13");
+      for (String input : inputs) {
+        Month actual = names.parse(input);
+        if (actual != null) {
+          assertEquals(locale + " " + input, parse(input, formatters), actual);
+        }
+      }
+      assertEquals(locale.toString(), Month.MARCH, names.parse("3"));
+    }
+  }
+
+  @Test
+  public void shouldBoundInstances() throws Exception {
+    for (int i = 0; i < MonthNames.CACHE_SIZE * 2; i++) {
+      assertEquals(Month.MAY, MonthNames.of(new Locale("en", "", "V" + i)).parse("May"));
+      assertTrue(MonthNames.getInstanceCount() <= MonthNames.CACHE_SIZE);
+    }
+  }
+
+  private static Month parse(String input, List<DateTimeFormatter> formatters) {
+    for (DateTimeFormatter formatter : formatters) {
+      Month result = PatternChain.parse(input, formatter, Month::from);
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,153 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Random;
+import java.util.ResourceBundle;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.sourceforge.stripes.validation.ScopedLocalizableError;
+import net.sourceforge.stripes.validation.ValidationError;
+
+public class BulkConverterTest {
+  private static ForkJoinPool pool;
+
+  private LocalDateTypeConverter converter;
+
+  @BeforeClass
+  public static void setUpClass() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    pool.shutdownNow();
+  }
+
+  @Before
+  public void setUp() {
+    converter = new LocalDateTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] {};
+          }
+        };
+      }
+    };
+    converter.setLocale(Locale.US);
+  }
+
+  @Test
+  public void shouldConvertColumn() throws Exception {
+    BulkConverter<LocalDate> bulkConverter = new BulkConverter<>(converter, LocalDate.class, pool, 1);
+    BulkConverter.Result<LocalDate> result = bulkConverter
+        .convert(new String[] { "Mar 27, 2017", "MAR 32, 2017", "", null, "Apr 1, 2017", "foo" });
+    assertArrayEquals(new LocalDate[] { LocalDate.of(2017, 3, 27), null, null, null, LocalDate.of(2017, 4, 1), null },
+        result.getValues());
+    assertTrue(result.hasErrors());
+    assertEquals(Arrays.asList(1, 5), new ArrayList<>(result.getErrors().keySet()));
+    ValidationError expected = new ScopedLocalizableError("converter.localDate", "invalidInput");
+    expected.setFieldValue("foo");
+    assertEquals(Arrays.asList(expected), result.getErrors().get(5));
+  }
+
+  @Test
+  public void shouldConvertEmptyColumn() throws Exception {
+    BulkConverter.Result<LocalDate> result = new BulkConverter<>(converter, LocalDate.class).convert(new String[0]);
+    assertEquals(0, result.getValues().length);
+    assertFalse(result.hasErrors());
+  }
+
+  @Test
+  public void shouldConvertSameAsConvert() throws Exception {
+    String[] column = column(20000);
+    List<LocalDate> expected = new ArrayList<>();
+    List<Integer> expectedRows = new ArrayList<>();
+    for (int row = 0; row < column.length; row++) {
+      List<ValidationError> errors = new ArrayList<>();
+      expected.add(converter.convert(column[row], LocalDate.class, errors));
+      if (!errors.isEmpty()) {
+        expectedRows.add(row);
+      }
+    }
+    BulkConverter<LocalDate> bulkConverter = new BulkConverter<>(converter, LocalDate.class, pool, 100);
+    BulkConverter.Result<LocalDate> result = bulkConverter.convert(column);
+    assertEquals(expected, Arrays.asList(result.getValues()));
+    assertEquals(expectedRows, new ArrayList<>(result.getErrors().keySet()));
+    for (int row : expectedRows) {
+      assertEquals(column[row], result.getErrors().get(row).get(0).getFieldValue());
+    }
+
+    // Not SUBSIZED
+    Spliterator<CharSequence> spliterator = Spliterators
+        .spliteratorUnknownSize(Arrays.<CharSequence> asList(column).iterator(), Spliterator.ORDERED);
+    result = bulkConverter.convert(spliterator);
+    assertEquals(expected, Arrays.asList(result.getValues()));
+    assertEquals(expectedRows, new ArrayList<>(result.getErrors().keySet()));
+  }
+
+  @Test
+  public void shouldAcceptCharSequences() throws Exception {
+    List<CharSequence> column = Collections.nCopies(3000, new StringBuilder("Mar 27, 2017"));
+    BulkConverter.Result<LocalDate> result = new BulkConverter<>(converter, LocalDate.class, pool, 100).convert(column.spliterator());
+    assertEquals(Collections.nCopies(3000, LocalDate.of(2017, 3, 27)), Arrays.asList(result.getValues()));
+    assertFalse(result.hasErrors());
+  }
+
+  private static String[] column(int size) {
+    Random random = new Random(1);
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.US);
+    String[] column = new String[size];
+    for (int row = 0; row < size; row++) {
+      LocalDate date = LocalDate.of(1950 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28));
+      String value = formatter.format(date);
+      // Some invalid rows: day 32, unknown month or garbage.
+      switch (random.nextInt(20)) {
+        case 0:
+          value = value.replaceFirst(" \\d+,", " 32,");
+          break;
+        case 1:
+          value = "Foo" + value.substring(3);
+          break;
+        case 2:
+          value = "n/a";
+          break;
+        default:
+          break;
+      }
+      column[row] = value;
+    }
+    return column;
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sourceforge.stripes.validation.TypeConverter;
+
+public class Jsr310TypeConverterFactoryTest {
+  private Jsr310TypeConverterFactory factory;
+
+  @Before
+  public void setUp() {
+    factory = new Jsr310TypeConverterFactory();
+    factory.init(null);
+  }
+
+  @Test
+  public void shouldRegisterAllConverters() throws Exception {
+    assertConverter(LocalDate.class, LocalDateTypeConverter.class);
+    assertConverter(LocalTime.class, LocalTimeTypeConverter.class);
+    assertConverter(LocalDateTime.class, LocalDateTimeTypeConverter.class);
+    assertConverter(Instant.class, InstantTypeConverter.class);
+    assertConverter(Month.class, MonthTypeConverter.class);
+    assertConverter(YearMonth.class, YearMonthTypeConverter.class);
+    assertConverter(Year.class, YearTypeConverter.class);
+    assertConverter(OffsetDateTime.class, OffsetDateTimeTypeConverter.class);
+    assertConverter(OffsetTime.class, OffsetTimeTypeConverter.class);
+    assertConverter(ZonedDateTime.class, ZonedDateTimeTypeConverter.class);
+  }
+
+  @Test
+  public void shouldSetLocale() throws Exception {
+    TemporalAccessorTypeConverter<?> converter = (TemporalAccessorTypeConverter<?>) factory.getTypeConverter(LocalDate.class, Locale.JAPAN);
+    assertEquals(Locale.JAPAN, converter.locale);
+  }
+
+  private void assertConverter(Class<?> targetType, Class<?> converterClass) throws Exception {
+    TypeConverter<?> converter = factory.getTypeConverter(targetType, Locale.US);
+    assertEquals(converterClass, converter.getClass());
+    assertNotSame("A new instance is returned for each call", converter, factory.getTypeConverter(targetType, Locale.US));
+  }
+}
@@ -15,7 +15,10 @@ package net.harawata.stripes.jsr310.validation;
 
 import static org.junit.Assert.*;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.ListResourceBundle;
@@ -25,6 +28,7 @@ import java.util.ResourceBundle;
 import org.junit.Before;
 import org.junit.Test;
 
+import net.harawata.stripes.jsr310.util.CurrentYearProvider;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
@@ -112,6 +116,11 @@ public class LocalDateTimeTypeConverterTest {
           }
         };
       }
+
+      @Override
+      protected CurrentYearProvider getCurrentYearProvider() {
+        return new CurrentYearProvider(Clock.fixed(Instant.parse("2017-06-01T00:00:00Z"), ZoneOffset.UTC));
+      }
     };
     converter.setLocale(Locale.JAPAN);
     assertEquals(LocalDateTime.of(2017, 8, 9, 19, 0, 0), converter.convert("8/9 19", LocalDateTime.class, errors));
@@ -15,9 +15,14 @@ package net.harawata.stripes.jsr310.validation;
 
 import static org.junit.Assert.*;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.ListResourceBundle;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -25,6 +30,7 @@ import java.util.ResourceBundle;
 import org.junit.Before;
 import org.junit.Test;
 
+import net.harawata.stripes.jsr310.util.CurrentYearProvider;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
@@ -107,9 +113,78 @@ public class LocalDateTypeConverterTest {
           }
         };
       }
+
+      @Override
+      protected CurrentYearProvider getCurrentYearProvider() {
+        return new CurrentYearProvider(Clock.fixed(Instant.parse("2017-06-01T00:00:00Z"), ZoneOffset.UTC));
+      }
     };
     converter.setLocale(Locale.JAPAN);
     assertEquals(LocalDate.of(2017, 8, 9), converter.convert("8/9", LocalDate.class, errors));
     assertEquals(LocalDate.of(2014, 8, 9), converter.convert("2014/8/9", LocalDate.class, errors));
   }
+
+  @Test
+  public void shouldReuseCompiledPatternChain() throws Exception {
+    converter.setLocale(Locale.US);
+    converter.convert("MAR 27, 2017", LocalDate.class, errors);
+    PatternChain chain = converter.preparePatternChain();
+    converter.convert("Apr 1, 2017", LocalDate.class, errors);
+    assertSame(chain, converter.preparePatternChain());
+    converter.setLocale(Locale.UK);
+    converter.convert("thursday 4 May 2017", LocalDate.class, errors);
+    assertNotSame(chain, converter.preparePatternChain());
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void shouldMemoizeConvertedValues() throws Exception {
+    converter = new LocalDateTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] { { TemporalAccessorTypeConverter.KEY_MEMO_SIZE, "10" } };
+          }
+        };
+      }
+    };
+    converter.setLocale(Locale.US);
+    LocalDate first = converter.convert("MAR 27, 2017", LocalDate.class, errors);
+    assertSame(first, converter.convert("MAR 27, 2017", LocalDate.class, errors));
+    assertNull(converter.convert("MAR 32, 2017", LocalDate.class, errors));
+    assertEquals(1, errors.size());
+    assertEquals(1L, converter.preparePatternChain().getMemo().getHitCount());
+    assertEquals(2L, converter.preparePatternChain().getMemo().getMissCount());
+  }
+
+  @Test
+  public void shouldNotMemoizeByDefault() throws Exception {
+    converter.setLocale(Locale.US);
+    converter.convert("MAR 27, 2017", LocalDate.class, errors);
+    assertNull(converter.preparePatternChain().getMemo());
+  }
+
+  @Test
+  public void shouldReportCachedInvalidInput() throws Exception {
+    converter = new LocalDateTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            return new Object[][] { { TemporalAccessorTypeConverter.KEY_INVALID_MEMO_SIZE, "10" } };
+          }
+        };
+      }
+    };
+    converter.setLocale(Locale.US);
+    for (int i = 0; i < 2; i++) {
+      List<ValidationError> errors = new ArrayList<>();
+      assertNull(converter.convert("MAR 32, 2017", LocalDate.class, errors));
+      assertEquals(new ScopedLocalizableError("converter.localDate", "invalidInput"), errors.get(0));
+    }
+    assertEquals(1L, converter.preparePatternChain().getInvalidInputs().getHitCount());
+  }
 }
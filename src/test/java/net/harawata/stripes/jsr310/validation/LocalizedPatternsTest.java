@@ -0,0 +1,144 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.time.chrono.Chronology;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+import org.junit.Test;
+
+public class LocalizedPatternsTest {
+
+  private static final List<Locale> LOCALES = Arrays.asList(Locale.US, Locale.JAPAN, new Locale("ja", "JP", "JP"),
+      new Locale("th", "TH", "TH"), Locale.GERMAN, Locale.forLanguageTag("ar-SA"), new Locale("nn", "NO"), new Locale("no", "NO", "NY"));
+
+  private static final FormatStyle[] STYLES_AND_NULL = { null, FormatStyle.FULL, FormatStyle.LONG, FormatStyle.MEDIUM, FormatStyle.SHORT };
+
+  @Test
+  public void shouldReturnSameAsJdk() throws Exception {
+    for (Locale locale : LOCALES) {
+      forEachStyle((dateStyle, timeStyle) -> assertEquals(live(dateStyle, timeStyle, locale),
+          LocalizedPatterns.get(dateStyle, timeStyle, locale)));
+    }
+  }
+
+  @Test
+  public void shouldReturnNormalizedPattern() throws Exception {
+    for (Locale locale : LOCALES) {
+      forEachStyle((dateStyle, timeStyle) -> assertEquals(
+          LocalizedPatterns.normalize(live(dateStyle, timeStyle, locale)),
+          LocalizedPatterns.getNormalized(dateStyle, timeStyle, locale)));
+    }
+    assertEquals("y M d", LocalizedPatterns.normalize("y/M/d"));
+    assertEquals("d MMM y", LocalizedPatterns.normalize("d 'de' MMM. 'de' y"));
+  }
+
+  @Test
+  public void shouldReadWrittenTable() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalizedPatterns.write(out, LOCALES);
+    LocalizedPatterns.Table table = LocalizedPatterns.read(new ByteArrayInputStream(out.toByteArray()), true);
+    assertNotNull(table);
+    assertEquals(LocalizedPatterns.localeData(), table.getLocaleData());
+    assertEquals(Collections.emptyList(), LocalizedPatterns.verify(table));
+    assertEquals(live(FormatStyle.SHORT, null, Locale.JAPAN), table.get(Locale.JAPAN, FormatStyle.SHORT.ordinal()));
+    assertEquals(LocalizedPatterns.normalize(live(FormatStyle.SHORT, null, Locale.JAPAN)),
+        table.get(Locale.JAPAN, 24 + FormatStyle.SHORT.ordinal()));
+    assertNull("Not in the table", table.get(Locale.FRANCE, 0));
+  }
+
+  @Test
+  public void shouldNotConfuseLocalesWithSameLanguageTag() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalizedPatterns.write(out, LOCALES);
+    LocalizedPatterns.Table table = LocalizedPatterns.read(new ByteArrayInputStream(out.toByteArray()), true);
+    assertEquals(live(FormatStyle.FULL, null, new Locale("nn", "NO")), table.get(new Locale("nn", "NO"), FormatStyle.FULL.ordinal()));
+    assertNull("Same tag as nn_NO", table.get(new Locale("no", "NO", "NY"), FormatStyle.FULL.ordinal()));
+    assertEquals(live(FormatStyle.FULL, null, new Locale("ja", "JP", "JP")),
+        table.get(new Locale("ja", "JP", "JP"), FormatStyle.FULL.ordinal()));
+  }
+
+  @Test
+  public void shouldIgnoreTableNotMatchingJdk() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(0x4a333131);
+    data.writeUTF(LocalizedPatterns.localeData());
+    data.writeShort(1);
+    data.writeUTF("yyyy");
+    data.writeInt(1);
+    data.writeUTF("en-US");
+    for (int i = 0; i < 48; i++) {
+      data.writeShort(0);
+    }
+    data.flush();
+    assertNull(LocalizedPatterns.read(new ByteArrayInputStream(out.toByteArray()), true));
+    assertNotNull(LocalizedPatterns.read(new ByteArrayInputStream(out.toByteArray()), false));
+  }
+
+  @Test
+  public void shouldIgnoreTableOfOtherRuntime() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    LocalizedPatterns.write(out, LOCALES);
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+    ByteArrayOutputStream modified = new ByteArrayOutputStream();
+    DataOutputStream data = new DataOutputStream(modified);
+    data.writeInt(in.readInt());
+    in.readUTF();
+    data.writeUTF("1.7;");
+    byte[] rest = new byte[in.available()];
+    in.readFully(rest);
+    data.write(rest);
+    data.flush();
+    assertNull(LocalizedPatterns.read(new ByteArrayInputStream(modified.toByteArray()), true));
+    LocalizedPatterns.Table table = LocalizedPatterns.read(new ByteArrayInputStream(modified.toByteArray()), false);
+    List<String> mismatches = LocalizedPatterns.verify(table);
+    assertEquals(1, mismatches.size());
+    assertTrue(mismatches.get(0), mismatches.get(0).startsWith("Generated with 1.7;"));
+  }
+
+  @Test
+  public void shouldReportMismatchingEntries() throws Exception {
+    char[] indices = new char[48];
+    LocalizedPatterns.Table table = new LocalizedPatterns.Table(LocalizedPatterns.localeData(), new String[] { "yyyy" },
+        Collections.singletonMap(Locale.US, 0), indices);
+    assertEquals(48, LocalizedPatterns.verify(table).size());
+  }
+
+  private static void forEachStyle(BiConsumer<FormatStyle, FormatStyle> consumer) {
+    for (FormatStyle dateStyle : STYLES_AND_NULL) {
+      for (FormatStyle timeStyle : STYLES_AND_NULL) {
+        if (dateStyle != null || timeStyle != null) {
+          consumer.accept(dateStyle, timeStyle);
+        }
+      }
+    }
+  }
+
+  private static String live(FormatStyle dateStyle, FormatStyle timeStyle, Locale locale) {
+    return DateTimeFormatterBuilder.getLocalizedDateTimePattern(dateStyle, timeStyle, Chronology.ofLocale(locale), locale);
+  }
+}
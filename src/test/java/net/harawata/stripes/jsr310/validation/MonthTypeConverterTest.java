@@ -73,6 +73,16 @@ public class MonthTypeConverterTest {
     assertEquals(Month.of(2), converter.convert("february", Month.class, errors));
   }
 
+  @Test
+  public void shouldParseLocalizedNames() throws Exception {
+    converter.setLocale(Locale.FRANCE);
+    assertEquals(Month.AUGUST, converter.convert("AOÛT", Month.class, errors));
+    assertEquals(Month.JULY, converter.convert(" juillet ", Month.class, errors));
+    assertEquals(Month.JULY, converter.convert("007", Month.class, errors));
+    assertNull(converter.convert("13", Month.class, errors));
+    assertEquals(1, errors.size());
+  }
+
   @Test
   public void shouldCustomPatternOverwritesDefaults() throws Exception {
     converter = new MonthTypeConverter() {
@@ -0,0 +1,87 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.io.StringWriter;
+import java.time.DateTimeException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.apache.log4j.WriterAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sourceforge.stripes.util.Log;
+
+public class ParseDiagnosticsTest {
+  private StringWriter writer;
+
+  private WriterAppender appender;
+
+  @Before
+  public void setUp() {
+    writer = new StringWriter();
+    appender = new WriterAppender(new PatternLayout("%m%n"), writer);
+    Logger.getLogger(ParseDiagnosticsTest.class).addAppender(appender);
+  }
+
+  @After
+  public void tearDown() {
+    Logger.getLogger(ParseDiagnosticsTest.class).removeAppender(appender);
+  }
+
+  @Test
+  public void shouldRenderEvents() throws Exception {
+    ParseDiagnostics diagnostics = new ParseDiagnostics(Log.getInstance(ParseDiagnosticsTest.class));
+    assertTrue(diagnostics.isEnabled());
+    diagnostics.tooLong("12345", 4);
+    diagnostics.couldNotParse("2017/03", "yyyy-MM", 4);
+    diagnostics.couldNotResolve("2017-13", "yyyy-MM", new DateTimeException("Invalid month"));
+    assertEquals("Input is longer than any pattern may match: 5 > 4.\n"
+        + "Could not parse '2017/03' using pattern 'yyyy-MM' at index 4.\n"
+        + "Could not resolve '2017-13' using pattern 'yyyy-MM'. Invalid month\n",
+        writer.toString().replace(System.lineSeparator(), "\n"));
+  }
+
+  @Test
+  public void shouldLimitEventsPerSecond() throws Exception {
+    AtomicLong nanoTime = new AtomicLong();
+    ParseDiagnostics diagnostics = new ParseDiagnostics(Log.getInstance(ParseDiagnosticsTest.class), 2, nanoTime::get);
+    for (int i = 0; i < 5; i++) {
+      diagnostics.couldNotParse("input" + i, "M", 0);
+    }
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1L));
+    diagnostics.couldNotParse("input5", "M", 0);
+    assertEquals("Could not parse 'input0' using pattern 'M' at index 0.\n"
+        + "Could not parse 'input1' using pattern 'M' at index 0.\n"
+        + "Could not parse 'input5' using pattern 'M' at index 0. (3 similar messages suppressed)\n",
+        writer.toString().replace(System.lineSeparator(), "\n"));
+  }
+
+  @Test
+  public void shouldDoNothingIfDisabled() throws Exception {
+    // The root logger is at INFO.
+    AtomicLong clockReads = new AtomicLong();
+    ParseDiagnostics diagnostics = new ParseDiagnostics(Log.getInstance(Object.class), 2, clockReads::incrementAndGet);
+    assertFalse(diagnostics.isEnabled());
+    diagnostics.couldNotParse("input", "M", 0);
+    assertEquals("", writer.toString());
+    assertEquals("Only the constructor should read the clock.", 1L, clockReads.get());
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.util.LruCache;
+
+public class PatternChainTest {
+  private static PatternChain chain(String... patterns) {
+    return chain(false, patterns);
+  }
+
+  private static PatternChain chain(boolean adaptive, String... patterns) {
+    return new PatternChain(TemporalAccessorTypeConverter.PRE_PROCESS_PATTERN, Arrays.asList(patterns),
+        pattern -> new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(Locale.US),
+        adaptive);
+  }
+
+  @Test
+  public void shouldReturnFirstMatch() throws Exception {
+    PatternChain chain = chain("d M yyyy", "yyyy M d");
+    assertEquals(LocalDate.of(2017, 8, 9), chain.parse("9 8 2017", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 8, 9), chain.parse("2017 8 9", LocalDate::from));
+  }
+
+  @Test
+  public void shouldReturnNullIfNoPatternMatches() throws Exception {
+    PatternChain chain = chain("d M yyyy", "yyyy M d");
+    assertNull(chain.parse("Aug 9", LocalDate::from));
+    assertNull(chain.parse("", LocalDate::from));
+  }
+
+  @Test
+  public void shouldNotAcceptPartialMatch() throws Exception {
+    assertNull(chain("yyyy M d").parse("2017 8 9 10", LocalDate::from));
+  }
+
+  @Test
+  public void shouldReturnNullIfResolutionFails() throws Exception {
+    assertNull(chain("yyyy M d").parse("2017 13 9", LocalDate::from));
+    assertNull("Time fields are missing", chain("yyyy M d").parse("2017 8 9", LocalDateTime::from));
+  }
+
+  @Test
+  public void shouldParseWithDifferentQueries() throws Exception {
+    PatternChain chain = chain("yyyy M d");
+    assertEquals(LocalDate.of(2017, 8, 9), chain.parse("2017 8 9", LocalDate::from));
+    assertEquals(YearMonth.of(2017, 8), chain.parse("2017 8 9", YearMonth::from));
+    assertEquals(LocalDate.of(2017, 8, 9), chain.parse("2017 8 9", LocalDate::from));
+  }
+
+  @Test
+  public void shouldParseWithSingleFormatter() throws Exception {
+    assertEquals(LocalDate.of(2017, 8, 9), PatternChain.parse("2017-08-09", DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from));
+    assertNull(PatternChain.parse("2017/08/09", DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from));
+  }
+
+  @Test
+  public void shouldNotReorderByDefault() throws Exception {
+    PatternChain chain = chain("d M yyyy", "yyyy M d");
+    for (int i = 0; i < PatternChain.REORDER_INTERVAL * 2; i++) {
+      chain.parse("2017 8 9", LocalDate::from);
+    }
+    assertArrayEquals(new int[] { 0, 1 }, chain.getOrder());
+  }
+
+  @Test
+  public void shouldPromoteFrequentlyMatchingPattern() throws Exception {
+    PatternChain chain = chain(true, "MMMM d yyyy", "d M yyyy", "yyyy M d");
+    for (int i = 0; i < PatternChain.REORDER_INTERVAL - 1; i++) {
+      assertEquals(LocalDate.of(2017, 8, 9), chain.parse("2017 8 9", LocalDate::from));
+    }
+    assertArrayEquals(new int[] { 0, 1, 2 }, chain.getOrder());
+    chain.parse("9 8 2017", LocalDate::from);
+    assertArrayEquals(new int[] { 2, 1, 0 }, chain.getOrder());
+    assertEquals("Input accepted by a single pattern should not be affected",
+        LocalDate.of(2017, 8, 9), chain.parse("August 9 2017", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 8, 9), chain.parse("9 8 2017", LocalDate::from));
+  }
+
+  @Test
+  public void shouldRejectInputLongerThanAnyPattern() throws Exception {
+    PatternChain chain = chain("yyyy MM dd");
+    assertEquals(20 + 1 + 3 + 1 + 3, chain.getMaxLength());
+    assertNull(chain.parse("2017 08 09                   ", LocalDate::from));
+    assertEquals(Integer.MAX_VALUE, chain("yyyy MM dd", "yyyy MM dd HH mm VV").getMaxLength());
+  }
+
+  @Test
+  public void shouldCacheInvalidInputs() throws Exception {
+    PatternChain chain = new PatternChain(TemporalAccessorTypeConverter.PRE_PROCESS_PATTERN, Arrays.asList("yyyy M d"),
+        pattern -> new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(Locale.US), false, null,
+        new LruCache<>(10, 0L, TimeUnit.SECONDS));
+    assertNull(chain.parse("2017 13 9", LocalDate::from));
+    assertNull(chain.parse("2017 13 9", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 8, 9), chain.parse("2017 8 9", LocalDate::from));
+    assertEquals(1L, chain.getInvalidInputs().getHitCount());
+    assertEquals(1, chain.getInvalidInputs().size());
+  }
+
+  @Test
+  public void shouldTryPreviousMatchFirstInAdaptiveBatch() throws Exception {
+    PatternChain batch = chain(true, "yyyy M d", "yyyy d M").forBatch();
+    assertEquals(LocalDate.of(2017, 1, 8), batch.parse("2017 1 8", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 1, 13), batch.parse("2017 13 1", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 8, 1), batch.parse("2017 1 8", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 9, 30), batch.parse("2017 9 30", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 9, 1), batch.parse("2017 9 1", LocalDate::from));
+  }
+
+  @Test
+  public void shouldKeepOrderInNonAdaptiveBatch() throws Exception {
+    PatternChain chain = chain("yyyy M d", "yyyy d M");
+    PatternChain batch = chain.forBatch();
+    assertEquals(LocalDate.of(2017, 1, 13), batch.parse("2017 13 1", LocalDate::from));
+    assertEquals(LocalDate.of(2017, 1, 8), batch.parse("2017 1 8", LocalDate::from));
+    assertSame(chain.getFormatter(0), batch.getFormatter(0));
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+
+public class PatternShapeTest {
+  @Test
+  public void shouldCountDigitRuns() throws Exception {
+    assertEquals(0, PatternShape.of(""));
+    assertEquals(0, PatternShape.of("Thursday May"));
+    assertEquals(3, PatternShape.of("2017 3 27"));
+    assertEquals(2, PatternShape.of("Mar 27 2017"));
+    assertEquals(3, PatternShape.of("2017年3月27日"));
+  }
+
+  @Test
+  public void shouldFingerprintPatterns() throws Exception {
+    assertEquals(3, PatternShape.of("yyyy M d", Locale.US));
+    assertEquals(2, PatternShape.of("MMM d y", Locale.US));
+    assertEquals(4, PatternShape.of("EEEE MMMM d y h mm a", Locale.US));
+    assertEquals(1, PatternShape.of("yyyyMMdd", Locale.US));
+    assertEquals(2, PatternShape.of("yyyy'-W'ww", Locale.US));
+    assertEquals(3, PatternShape.of("y年M月d日", Locale.JAPAN));
+  }
+
+  @Test
+  public void shouldNotFingerprintVariablePatterns() throws Exception {
+    assertEquals(PatternShape.ANY, PatternShape.of("[yyyy ]M d", Locale.US));
+    assertEquals(PatternShape.ANY, PatternShape.of("yyyy M d H mm z", Locale.US));
+    assertEquals(PatternShape.ANY, PatternShape.of("yyyy-MM-dd'T'HH:mmXXX", Locale.US));
+    assertEquals(PatternShape.ANY, PatternShape.of("yyyy 'Q1' M", Locale.US));
+    assertEquals(PatternShape.ANY, PatternShape.of("QQQ yyyy", Locale.US));
+    assertEquals("'MMu' accepts '03-5'", PatternShape.ANY, PatternShape.of("MMu", Locale.US));
+    assertEquals("Month names contain digits", PatternShape.ANY, PatternShape.of("y MMM d", Locale.JAPAN));
+  }
+
+  @Test
+  public void shouldSplitPatternIntoGaps() throws Exception {
+    assertEquals("[, 年, 月, 日]", Arrays.toString(PatternShape.gaps("y年M月d日", Locale.JAPAN)));
+    assertEquals("[* ,  ,  ,  ,  *]", Arrays.toString(PatternShape.gaps("EEEE MMMM d y h mm a", Locale.US)));
+    assertEquals("[,  * , ]", Arrays.toString(PatternShape.gaps("d MMMM y", Locale.US)));
+    assertEquals("[, 'T', ]", Arrays.toString(PatternShape.gaps("yyyy'''T'''MM", Locale.US)));
+    assertNull(PatternShape.gaps("[yyyy ]M d", Locale.US));
+  }
+
+  @Test
+  public void shouldSplitInputIntoGaps() throws Exception {
+    assertArrayEquals(new int[] { 0, 0 }, PatternShape.gapBounds(""));
+    assertArrayEquals(new int[] { 0, 4 }, PatternShape.gapBounds("abcd"));
+    assertArrayEquals(new int[] { 0, 0, 4, 5, 6, 7, 9, 9 }, PatternShape.gapBounds("2017 3 27"));
+    assertArrayEquals(new int[] { 0, 4, 6, 7, 11, 11 }, PatternShape.gapBounds("Mar 27 2017"));
+  }
+
+  @Test
+  public void shouldMatchGapCaseInsensitively() throws Exception {
+    PatternShape.Gap gap = PatternShape.gaps("y'at'M", Locale.US)[1];
+    assertTrue(gap.matches("AT", 0, 2, true));
+    assertTrue(gap.matches("at-", 0, 3, true));
+    assertFalse(gap.matches("at-", 0, 3, false));
+    assertFalse(gap.matches("a", 0, 1, true));
+  }
+
+  @Test
+  public void shouldComputeMaxLength() throws Exception {
+    assertEquals(3 + 1 + 3 + 1 + 20, PatternShape.maxLength("MMM dd y", Locale.US));
+    assertEquals("September", 9, PatternShape.maxLength("MMMM", Locale.US));
+    assertEquals(20 + 1 + 20 + 1 + 20, PatternShape.maxLength("[yyyy ]M d", Locale.US));
+    assertEquals(20 + 1 + 3 + 3, PatternShape.maxLength("yyyy'T'HHSSS", Locale.US));
+    assertEquals(Integer.MAX_VALUE, PatternShape.maxLength("yyyy MM dd HH mm VV", Locale.US));
+    assertEquals("nn is not fixed width", 3 + 1 + 3 + 1 + 3 + 1 + 20, PatternShape.maxLength("HH mm ss nn", Locale.US));
+    assertEquals(20 + 20, PatternShape.maxLength("NNAA", Locale.US));
+  }
+}
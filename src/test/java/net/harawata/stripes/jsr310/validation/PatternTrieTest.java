@@ -0,0 +1,114 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.text.ParsePosition;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.chrono.Chronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import net.harawata.stripes.jsr310.util.InputNormalizer;
+
+public class PatternTrieTest {
+  private static PatternTrie trie(Locale locale, String... patterns) {
+    PatternShape.Gap[][] gaps = new PatternShape.Gap[patterns.length][];
+    for (int i = 0; i < patterns.length; i++) {
+      gaps[i] = PatternShape.gaps(patterns[i], locale);
+    }
+    return new PatternTrie(gaps);
+  }
+
+  @Test
+  public void shouldReturnCandidates() throws Exception {
+    // Japanese month names contain digits, so "MMMM d y" is always a candidate.
+    PatternTrie trie = trie(Locale.JAPAN, "y年M月d日EEEE", "y年M月d日", "y MM dd", "[y ]M d", "MMMM d y");
+    assertArrayEquals(new boolean[] { true, true, false, true, true }, trie.match("2017年3月27日"));
+    assertArrayEquals(new boolean[] { true, false, false, true, true }, trie.match("2017年3月27日月曜日"));
+    assertArrayEquals(new boolean[] { false, false, true, true, true }, trie.match("2017 03 27"));
+    assertArrayEquals(new boolean[] { false, false, false, true, true }, trie.match("3 27"));
+  }
+
+  @Test
+  public void shouldShareGaps() throws Exception {
+    PatternTrie trie = trie(Locale.US, "MMMM d y", "MMM d y", "EEEE MMMM d y");
+    assertArrayEquals(new boolean[] { true, true, true }, trie.match("March 27 2017"));
+    assertArrayEquals(new boolean[] { false, false, false }, trie.match("March 27 2017 1"));
+    assertArrayEquals(new boolean[] { false, false, false }, trie.match("March 27/2017"));
+  }
+
+  @Test
+  public void shouldNeverSkipMatchingPattern() throws Exception {
+    List<ZonedDateTime> samples = new ArrayList<>();
+    for (int month = 1; month <= 12; month += 3) {
+      samples.add(ZonedDateTime.of(2017, month, month + 10, month * 2 - 1, month * 4, 7, 0, ZoneId.of("America/New_York")));
+    }
+    Locale[] locales = { Locale.US, Locale.UK, Locale.JAPAN, Locale.KOREA, Locale.CHINA, Locale.TAIWAN, Locale.GERMANY,
+        Locale.FRANCE, Locale.ITALY, Locale.CANADA_FRENCH, new Locale("es", "ES"), new Locale("pt", "BR"), new Locale("ru", "RU"),
+        new Locale("ar", "EG"), new Locale("hi", "IN"), new Locale("th", "TH") };
+    for (Locale locale : locales) {
+      Chronology chronology = Chronology.ofLocale(locale);
+      List<String> patterns = new ArrayList<>();
+      for (FormatStyle dateStyle : FormatStyle.values()) {
+        patterns.add(DateTimeFormatterBuilder.getLocalizedDateTimePattern(dateStyle, null, chronology, locale));
+        for (FormatStyle timeStyle : FormatStyle.values()) {
+          patterns.add(DateTimeFormatterBuilder.getLocalizedDateTimePattern(dateStyle, timeStyle, chronology, locale));
+        }
+      }
+      String[] normalized = patterns.stream()
+          .map(p -> TemporalAccessorTypeConverter.PATTERN_NORMALIZATION_PATTERN.matcher(p).replaceAll(" ").trim())
+          .toArray(String[]::new);
+      // Pre-processed input against normalized patterns, raw input against raw patterns.
+      assertNeverSkipped(locale, normalized, patterns, samples, true);
+      assertNeverSkipped(locale, patterns.toArray(new String[patterns.size()]), patterns, samples, false);
+    }
+  }
+
+  private static void assertNeverSkipped(Locale locale, String[] candidates, List<String> printPatterns, List<ZonedDateTime> samples,
+      boolean preProcess) {
+    PatternTrie trie = trie(locale, candidates);
+    DateTimeFormatter[] parsers = new DateTimeFormatter[candidates.length];
+    int[] maxLengths = new int[candidates.length];
+    for (int i = 0; i < candidates.length; i++) {
+      parsers[i] = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(candidates[i]).toFormatter(locale);
+      maxLengths[i] = PatternShape.maxLength(candidates[i], locale);
+    }
+    for (String printPattern : printPatterns) {
+      DateTimeFormatter printer = DateTimeFormatter.ofPattern(printPattern, locale);
+      for (ZonedDateTime sample : samples) {
+        String input = printer.format(sample);
+        if (preProcess) {
+          input = InputNormalizer.normalize(input);
+        }
+        boolean[] matched = trie.match(input);
+        for (int i = 0; i < candidates.length; i++) {
+          ParsePosition position = new ParsePosition(0);
+          if (parsers[i].parseUnresolved(input, position) != null && position.getIndex() == input.length()) {
+            assertTrue(locale + ": '" + input + "' skipped '" + candidates[i] + "'", matched[i]);
+            assertTrue(locale + ": '" + input + "' longer than '" + candidates[i] + "'", input.length() <= maxLengths[i]);
+          }
+        }
+      }
+    }
+  }
+}
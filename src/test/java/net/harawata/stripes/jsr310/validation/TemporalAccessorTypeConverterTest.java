@@ -0,0 +1,364 @@
+/**
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package net.harawata.stripes.jsr310.validation;
+
+import static org.junit.Assert.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import net.sourceforge.stripes.validation.ScopedLocalizableError;
+import net.sourceforge.stripes.validation.ValidationError;
+
+public class TemporalAccessorTypeConverterTest {
+  private static final int THREADS = 8;
+
+  private static final int ROUNDS = 10;
+
+  private static final Map<Class<?>, Function<ResourceBundle, TemporalAccessorTypeConverter<?>>> CONVERTERS = new LinkedHashMap<>();
+
+  private static final Map<Class<?>, String[]> PATTERNS = new LinkedHashMap<>();
+
+  private static ExecutorService executor;
+
+  static {
+    CONVERTERS.put(LocalDate.class, bundle -> new LocalDateTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(LocalDateTime.class, bundle -> new LocalDateTimeTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(LocalTime.class, bundle -> new LocalTimeTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(YearMonth.class, bundle -> new YearMonthTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(Month.class, bundle -> new MonthTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(Year.class, bundle -> new YearTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(Instant.class, bundle -> new InstantTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    CONVERTERS.put(ZonedDateTime.class, bundle -> new ZonedDateTimeTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+    });
+    PATTERNS.put(LocalDate.class, new String[] { "yyyy-MM-dd", "M/d/yyyy", "d.M.yy", "MMM d, yyyy", "EEEE d MMMM yyyy", "MMM d" });
+    PATTERNS.put(LocalDateTime.class, new String[] { "yyyy-MM-dd HH:mm:ss", "M/d/yy h:mm a", "MMM d, yyyy h:mm:ss a" });
+    PATTERNS.put(LocalTime.class, new String[] { "HH:mm:ss", "H:mm", "h:mm a", "HH:mm:ss.SSS" });
+    PATTERNS.put(YearMonth.class, new String[] { "yyyy-MM", "MMMM yyyy", "M/yy" });
+    PATTERNS.put(Month.class, new String[] { "MMMM", "MMM", "M", "MM" });
+    PATTERNS.put(Year.class, new String[] { "yyyy", "yy", "y" });
+    PATTERNS.put(Instant.class, new String[] { "yyyy-MM-dd'T'HH:mm:ss'Z'", "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'" });
+    PATTERNS.put(ZonedDateTime.class, new String[] { "yyyy-MM-dd'T'HH:mm:ssXXX'['VV']'", "yyyy-MM-dd HH:mm:ss" });
+  }
+
+  @BeforeClass
+  public static void setUpClass() {
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    executor.shutdownNow();
+    TemporalAccessorTypeConverter.clearPatternChains();
+  }
+
+  @Test
+  public void shouldConvertConcurrentlyWithSharedInstance() throws Exception {
+    assertConcurrentConversions(bundle());
+  }
+
+  @Test
+  public void shouldConvertConcurrentlyWithSharedInstanceAndMemo() throws Exception {
+    assertConcurrentConversions(bundle(new Object[] { TemporalAccessorTypeConverter.KEY_MEMO_SIZE, "32" },
+        new Object[] { TemporalAccessorTypeConverter.KEY_INVALID_MEMO_SIZE, "8" }));
+  }
+
+  @Test
+  public void shouldDiscardChainsOfOtherYears() throws Exception {
+    int[] year = { 2017 };
+    ResourceBundle bundle = bundle(new Object[] { LocalDateTypeConverter.KEY_PATTERNS, "M d" });
+    LocalDateTypeConverter converter = new LocalDateTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle;
+      }
+
+      @Override
+      protected int getDefaultYear() {
+        return year[0];
+      }
+    };
+    converter.setLocale(Locale.US);
+    TemporalAccessorTypeConverter.clearPatternChains();
+    List<ValidationError> errors = new ArrayList<>();
+    for (; year[0] < 2030; year[0]++) {
+      assertEquals(LocalDate.of(year[0], 8, 9), converter.convert("8/9", LocalDate.class, errors));
+      assertEquals(1, TemporalAccessorTypeConverter.getPatternChainCount());
+    }
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void shouldBoundPatternChains() throws Exception {
+    TemporalAccessorTypeConverter<?> converter = CONVERTERS.get(Year.class).apply(bundle());
+    TemporalAccessorTypeConverter.clearPatternChains();
+    List<ValidationError> errors = new ArrayList<>();
+    for (int i = 0; i < TemporalAccessorTypeConverter.PATTERN_CHAIN_CACHE_SIZE + 100; i++) {
+      converter.setLocale(new Locale("en", "US", "v" + i));
+      assertEquals(Year.of(2017), converter.convert("2017", null, errors));
+      assertTrue(TemporalAccessorTypeConverter.getPatternChainCount() <= TemporalAccessorTypeConverter.PATTERN_CHAIN_CACHE_SIZE);
+    }
+  }
+
+  @Test
+  public void shouldNotRejectLongNanoOfSecondAsTooLong() throws Exception {
+    TemporalAccessorTypeConverter<?> converter = CONVERTERS.get(LocalTime.class)
+        .apply(bundle(new Object[] { LocalTimeTypeConverter.KEY_PATTERNS, "HH mm ss nn" }));
+    converter.setLocale(Locale.US);
+    List<ValidationError> errors = new ArrayList<>();
+    assertEquals(LocalTime.of(13, 47, 0, 123456789), converter.convert("13:47:00.123456789", null, errors));
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void shouldDisableMemoWithInvalidSettings() throws Exception {
+    Object[][][] bundles = {
+        { { TemporalAccessorTypeConverter.KEY_MEMO_SIZE, "ten" }, { TemporalAccessorTypeConverter.KEY_INVALID_MEMO_SIZE, "-1" } },
+        { { TemporalAccessorTypeConverter.KEY_MEMO_SIZE, "10" }, { TemporalAccessorTypeConverter.KEY_INVALID_MEMO_SIZE, "10" },
+            { TemporalAccessorTypeConverter.KEY_MEMO_TTL, "1h" } },
+        { { TemporalAccessorTypeConverter.KEY_MEMO_SIZE, "10000000000" } } };
+    for (Object[][] contents : bundles) {
+      TemporalAccessorTypeConverter<?> converter = CONVERTERS.get(LocalDate.class).apply(bundle(contents));
+      converter.setLocale(Locale.US);
+      List<ValidationError> errors = new ArrayList<>();
+      assertEquals(LocalDate.of(2017, 3, 27), converter.convert("MAR 27, 2017", null, errors));
+      assertTrue(errors.isEmpty());
+      assertNull(converter.preparePatternChain().getMemo());
+      assertNull(converter.preparePatternChain().getInvalidInputs());
+    }
+  }
+
+  @Test
+  public void shouldConvertAllInputs() throws Exception {
+    LocalDateTypeConverter converter = (LocalDateTypeConverter) CONVERTERS.get(LocalDate.class).apply(bundle());
+    converter.setLocale(Locale.US);
+    List<ValidationError> errors = new ArrayList<>();
+    LocalDate[] results = converter.convertAll(new String[] { "MAR 27, 2017", "", null, "MAR 32, 2017", "Apr 1, 2017" }, LocalDate.class,
+        errors);
+    assertArrayEquals(new LocalDate[] { LocalDate.of(2017, 3, 27), null, null, null, LocalDate.of(2017, 4, 1) }, results);
+    ValidationError expected = new ScopedLocalizableError("converter.localDate", "invalidInput");
+    expected.setFieldValue("MAR 32, 2017");
+    assertEquals(Arrays.asList(expected), errors);
+  }
+
+  @Test
+  public void shouldSkipInputThatThrowsInConvertAll() throws Exception {
+    List<String> converted = new ArrayList<>();
+    LocalDateTypeConverter converter = new LocalDateTypeConverter() {
+      @Override
+      protected LocalDate convert(PatternChain chain, String input, Collection<ValidationError> errors) {
+        converted.add(input);
+        if (input.startsWith("!")) {
+          errors.add(new ScopedLocalizableError("converter.localDate", "invalidInput"));
+          throw new IllegalStateException("broken converter");
+        }
+        return super.convert(chain, input, errors);
+      }
+
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return bundle();
+      }
+    };
+    converter.setLocale(Locale.US);
+    List<ValidationError> errors = new ArrayList<>();
+    LocalDate[] results = converter.convertAll(new String[] { "MAR 27, 2017", "!", "Apr 1, 2017" }, LocalDate.class, errors);
+    assertArrayEquals(new LocalDate[] { LocalDate.of(2017, 3, 27), null, LocalDate.of(2017, 4, 1) }, results);
+    assertTrue(errors.isEmpty());
+    assertEquals(Arrays.asList("MAR 27, 2017", "!", "Apr 1, 2017"), converted);
+  }
+
+  @Test
+  public void shouldConvertAllSameAsConvert() throws Exception {
+    ResourceBundle bundle = bundle();
+    for (Locale locale : Arrays.asList(Locale.US, Locale.JAPAN, Locale.FRANCE)) {
+      for (Map.Entry<Class<?>, Function<ResourceBundle, TemporalAccessorTypeConverter<?>>> entry : CONVERTERS.entrySet()) {
+        Class<?> type = entry.getKey();
+        List<String> inputs = inputs(PATTERNS.get(type), locale, new Random(type.hashCode()));
+        TemporalAccessorTypeConverter<?> converter = entry.getValue().apply(bundle);
+        converter.setLocale(locale);
+        List<Object> expected = new ArrayList<>();
+        List<ValidationError> expectedErrors = new ArrayList<>();
+        for (String input : inputs) {
+          int errorCount = expectedErrors.size();
+          expected.add(converter.convert(input, null, expectedErrors));
+          expectedErrors.subList(errorCount, expectedErrors.size()).forEach(error -> error.setFieldValue(input));
+        }
+        List<ValidationError> errors = new ArrayList<>();
+        Object[] results = convertAll(converter, inputs.toArray(new String[inputs.size()]), type, errors);
+        assertEquals(type.getSimpleName() + " in " + locale, expected, Arrays.asList(results));
+        assertEquals(expectedErrors, errors);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends TemporalAccessor> Object[] convertAll(TemporalAccessorTypeConverter<T> converter, String[] inputs, Class<?> type,
+      List<ValidationError> errors) {
+    return converter.convertAll(inputs, (Class<T>) type, errors);
+  }
+
+  private static void assertConcurrentConversions(ResourceBundle bundle) throws Exception {
+    for (Locale locale : Arrays.asList(Locale.US, Locale.JAPAN, Locale.FRANCE)) {
+      for (Map.Entry<Class<?>, Function<ResourceBundle, TemporalAccessorTypeConverter<?>>> entry : CONVERTERS.entrySet()) {
+        Class<?> type = entry.getKey();
+        List<String> inputs = inputs(PATTERNS.get(type), locale, new Random(type.hashCode()));
+        List<List<Object>> expected = new ArrayList<>();
+        for (String input : inputs) {
+          // A new instance per input: nothing can leak from one conversion to the next.
+          TemporalAccessorTypeConverter<?> converter = entry.getValue().apply(bundle);
+          converter.setLocale(locale);
+          expected.add(convert(converter, input));
+        }
+        // The threads also race to compile the chains.
+        TemporalAccessorTypeConverter.clearPatternChains();
+        TemporalAccessorTypeConverter<?> shared = entry.getValue().apply(bundle);
+        shared.setLocale(locale);
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+          Random random = new Random(t);
+          futures.add(executor.submit(() -> {
+            start.await();
+            List<Integer> indices = new ArrayList<>();
+            for (int i = 0; i < inputs.size(); i++) {
+              indices.add(i);
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+              Collections.shuffle(indices, random);
+              for (int i : indices) {
+                List<Object> actual = convert(shared, inputs.get(i));
+                if (!expected.get(i).equals(actual)) {
+                  failures.add(type.getSimpleName() + " '" + inputs.get(i) + "' in " + locale + ": expected "
+                      + expected.get(i) + " but was " + actual);
+                }
+              }
+            }
+            return null;
+          }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+          future.get();
+        }
+        assertTrue(failures.toString(), failures.isEmpty());
+      }
+    }
+  }
+
+  private static List<Object> convert(TemporalAccessorTypeConverter<?> converter, String input) {
+    List<ValidationError> errors = new ArrayList<>();
+    Object result;
+    try {
+      result = converter.convert(input, null, errors);
+    } catch (RuntimeException e) {
+      result = e.getClass();
+    }
+    return Arrays.asList(result, errors);
+  }
+
+  private static List<String> inputs(String[] patterns, Locale locale, Random random) {
+    List<String> inputs = new ArrayList<>();
+    for (String pattern : patterns) {
+      DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, locale);
+      for (int i = 0; i < 8; i++) {
+        LocalDateTime value = LocalDateTime.of(1950 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28),
+            random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000) * 1000000);
+        inputs.add(formatter.format(value.atZone(ZoneOffset.UTC)));
+      }
+    }
+    inputs.addAll(Arrays.asList("2017-02-30", "13/32/2017", "25:61", "Smarch", "0000", "not a date", "2017-02-30T25:00:00Z"));
+    return inputs;
+  }
+
+  private static ResourceBundle bundle(Object[]... contents) {
+    return new ListResourceBundle() {
+      @Override
+      protected Object[][] getContents() {
+        return contents;
+      }
+    };
+  }
+}
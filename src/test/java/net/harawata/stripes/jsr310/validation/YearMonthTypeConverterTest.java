@@ -15,7 +15,10 @@ package net.harawata.stripes.jsr310.validation;
 
 import static org.junit.Assert.*;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.ListResourceBundle;
@@ -25,6 +28,7 @@ import java.util.ResourceBundle;
 import org.junit.Before;
 import org.junit.Test;
 
+import net.harawata.stripes.jsr310.util.CurrentYearProvider;
 import net.sourceforge.stripes.validation.ScopedLocalizableError;
 import net.sourceforge.stripes.validation.ValidationError;
 
@@ -108,6 +112,11 @@ public class YearMonthTypeConverterTest {
           }
         };
       }
+
+      @Override
+      protected CurrentYearProvider getCurrentYearProvider() {
+        return new CurrentYearProvider(Clock.fixed(Instant.parse("2017-06-01T00:00:00Z"), ZoneOffset.UTC));
+      }
     };
     converter.setLocale(Locale.US);
     assertEquals(YearMonth.of(2017, 7), converter.convert("7", YearMonth.class, errors));
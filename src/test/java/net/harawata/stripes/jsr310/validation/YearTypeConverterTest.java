@@ -16,8 +16,11 @@ package net.harawata.stripes.jsr310.validation;
 import static org.junit.Assert.*;
 
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.ListResourceBundle;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -61,6 +64,37 @@ public class YearTypeConverterTest {
     assertEquals(Year.of(2014), converter.convert("14", Year.class, errors));
   }
 
+  @Test
+  public void shouldParseDigitsSameAsPatterns() throws Exception {
+    YearTypeConverter reference = new YearTypeConverter() {
+      @Override
+      protected ResourceBundle getErrorMessageBundle() {
+        return new ListResourceBundle() {
+          @Override
+          protected Object[][] getContents() {
+            // Same as the defaults, but not recognized as such.
+            return new Object[][] { { YearTypeConverter.KEY_PATTERNS, "yyyy, yy" } };
+          }
+        };
+      }
+    };
+    converter.setLocale(Locale.US);
+    reference.setLocale(Locale.US);
+    List<String> inputs = new ArrayList<>(Arrays.asList("", "0", "7", "007", "+2014", "-2014", "20140", " 2014 ", "２０１４"));
+    for (int i = 0; i < 10000; i++) {
+      inputs.add(String.format("%04d", i));
+      if (i < 100) {
+        inputs.add(String.format("%02d", i));
+      }
+    }
+    for (String input : inputs) {
+      Collection<ValidationError> referenceErrors = new HashSet<>();
+      errors.clear();
+      assertEquals(input, reference.convert(input, Year.class, referenceErrors), converter.convert(input, Year.class, errors));
+      assertEquals(input, referenceErrors.size(), errors.size());
+    }
+  }
+
   @Test
   public void shouldCustomPatternOverwritesDefaults() throws Exception {
     converter = new YearTypeConverter() {